@@ -0,0 +1,74 @@
+package com.lms.library_management_system.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.library_management_system.dto.BookCopyDto;
+import com.lms.library_management_system.dto.BookDetailsDto;
+import com.lms.library_management_system.dto.BookDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookJsonBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<BookDto> page;
+    private BookDetailsDto details;
+
+    @Setup
+    public void setUp() {
+        // Same builder Spring MVC uses for its message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<BookDto> books = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            books.add(BookDto.builder()
+                    .id(i)
+                    .title("Title " + i)
+                    .author("Author " + i % 50)
+                    .isbn(String.format("978%010d", i))
+                    .publishedYear(1950 + (int) (i % 70))
+                    .availableCopies(1)
+                    .totalCopies(2)
+                    .build());
+        }
+        page = new PageImpl<>(books, PageRequest.of(3, pageSize), 250_000);
+
+        List<BookCopyDto> copies = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            copies.add(new BookCopyDto(i, i % 2 == 0));
+        }
+        details = BookDetailsDto.builder()
+                .id(1L)
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .isbn("9780134685991")
+                .publishedYear(2018)
+                .copies(copies)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeBookPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeBookDetails() throws Exception {
+        return objectMapper.writeValueAsBytes(details);
+    }
+}
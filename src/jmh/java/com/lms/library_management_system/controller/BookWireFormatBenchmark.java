@@ -0,0 +1,112 @@
+package com.lms.library_management_system.controller;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.lms.library_management_system.dto.BookCopyDto;
+import com.lms.library_management_system.dto.BookDetailsDto;
+import com.lms.library_management_system.dto.BookDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode throughput of a book page and a book with its copies in each wire format the API
+ * negotiates. Payload sizes are printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookWireFormatBenchmark {
+
+    // The listing as a client reads it, without the pageable metadata it has no use for
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record PageBody(List<BookDto> content, long totalElements) {
+    }
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<BookDto> page;
+    private BookDetailsDto details;
+    private byte[] encodedPage;
+    private byte[] encodedDetails;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Built the way WireFormatConfig and Spring MVC build the converters' mappers
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+
+        List<BookDto> books = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            books.add(BookDto.builder()
+                    .id(i)
+                    .title("Title " + i)
+                    .author("Author " + i % 50)
+                    .isbn(String.format("978%010d", i))
+                    .publishedYear(1950 + (int) (i % 70))
+                    .availableCopies(1)
+                    .totalCopies(2)
+                    .build());
+        }
+        page = new PageImpl<>(books, PageRequest.of(3, pageSize), 250_000);
+
+        List<BookCopyDto> copies = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            copies.add(new BookCopyDto(i, i % 2 == 0));
+        }
+        details = BookDetailsDto.builder()
+                .id(1L)
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .isbn("9780134685991")
+                .publishedYear(2018)
+                .copies(copies)
+                .build();
+
+        encodedPage = objectMapper.writeValueAsBytes(page);
+        encodedDetails = objectMapper.writeValueAsBytes(details);
+        System.out.printf("%n%s payload for %d items: page %,d bytes, details %,d bytes%n",
+                format, pageSize, encodedPage.length, encodedDetails.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBookPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PageBody decodeBookPage() throws Exception {
+        return objectMapper.readValue(encodedPage, PageBody.class);
+    }
+
+    @Benchmark
+    public byte[] encodeBookDetails() throws Exception {
+        return objectMapper.writeValueAsBytes(details);
+    }
+
+    @Benchmark
+    public BookDetailsDto decodeBookDetails() throws Exception {
+        return objectMapper.readValue(encodedDetails, BookDetailsDto.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.lms.library_management_system.index;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Search latency percentiles over a synthetic catalogue. Title words follow a Zipf-like distribution over
+ * a 50,000 word vocabulary, so queries mix very common terms with rare ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BookSearchBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+
+    @Param({"5000000"})
+    private int books;
+
+    private BookSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        com.lms.library_management_system.repository.BookRepository bookRepository =
+                mock(com.lms.library_management_system.repository.BookRepository.class);
+        Random random = new Random(42);
+        when(bookRepository.streamIndexedBooks()).thenReturn(Stream.iterate(1L, id -> id + 1).limit(books)
+                .map(id -> new IndexedBook(id, title(random), "Author " + word(random) + " " + random.nextInt(20_000), 1)));
+
+        index = new BookSearchIndex(bookRepository, mock(PlatformTransactionManager.class), "");
+        index.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        index.destroy();
+    }
+
+    @Benchmark
+    public BookSearchIndex.SearchHits singleTerm() {
+        return index.search(word(ThreadLocalRandom.current()), 0, 10);
+    }
+
+    @Benchmark
+    public BookSearchIndex.SearchHits twoTerms() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return index.search(word(random) + " " + word(random), 0, 10);
+    }
+
+    @Benchmark
+    public BookSearchIndex.SearchHits mostCommonTerm() {
+        return index.search("w0", 0, 10);
+    }
+
+    private static String title(Random random) {
+        return IntStream.range(0, 2 + random.nextInt(4))
+                .mapToObj(i -> word(random))
+                .reduce((a, b) -> a + " " + b)
+                .orElseThrow();
+    }
+
+    // Rank r is drawn with probability roughly proportional to 1/r
+    private static String word(Random random) {
+        return "w" + (int) Math.floor(Math.pow(VOCABULARY + 1, random.nextDouble()) - 1);
+    }
+}
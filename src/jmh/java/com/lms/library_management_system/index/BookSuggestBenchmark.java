@@ -0,0 +1,102 @@
+package com.lms.library_management_system.index;
+
+import com.lms.library_management_system.dto.SuggestionDto;
+import com.lms.library_management_system.repository.BookRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Top-k prefix latency over a synthetic catalogue of random-letter titles, plus the heap the loaded index
+ * retains, printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BookSuggestBenchmark {
+
+    @Param({"1000000"})
+    private int books;
+
+    private String[] words;
+    private BookSuggestIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        words = IntStream.range(0, 50_000).mapToObj(i -> word(random)).toArray(String[]::new);
+
+        BookRepository bookRepository = mock(BookRepository.class);
+        when(bookRepository.streamIndexedBooks()).thenReturn(Stream.iterate(1L, id -> id + 1).limit(books)
+                .map(id -> new IndexedBook(id, title(random), author(random), random.nextInt(20))));
+
+        long before = usedHeap();
+        index = new BookSuggestIndex(bookRepository, mock(PlatformTransactionManager.class));
+        index.rebuild();
+        long retained = usedHeap() - before;
+        System.out.printf("%nSuggest index for %,d books retains %,d MB (%d bytes per book)%n",
+                books, retained >> 20, retained / books);
+    }
+
+    @Benchmark
+    public List<SuggestionDto> oneCharacter() {
+        return index.suggest(prefix(1), 10);
+    }
+
+    @Benchmark
+    public List<SuggestionDto> threeCharacters() {
+        return index.suggest(prefix(3), 10);
+    }
+
+    @Benchmark
+    public List<SuggestionDto> wholeWord() {
+        return index.suggest(words[ThreadLocalRandom.current().nextInt(words.length)], 10);
+    }
+
+    private String prefix(int length) {
+        String word = words[ThreadLocalRandom.current().nextInt(words.length)];
+        return word.substring(0, Math.min(length, word.length()));
+    }
+
+    private String title(Random random) {
+        return IntStream.range(0, 2 + random.nextInt(4))
+                .mapToObj(i -> words[random.nextInt(words.length)])
+                .reduce((a, b) -> a + " " + b)
+                .orElseThrow();
+    }
+
+    // Authors are drawn from a pool of 50,000 names, so most of them have a few dozen books
+    private String author(Random random) {
+        int author = random.nextInt(words.length);
+        return words[author] + " " + words[(author * 31 + 7) % words.length];
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[3 + random.nextInt(7)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        letters[0] = Character.toUpperCase(letters[0]);
+        return new String(letters);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,92 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.dto.BookCopyDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies of one book read whole, as a first page, as a deep offset page and as a keyset page, with and without
+ * the availability filter. Before measuring, every paged shape is checked to be read from its index in order.
+ * Meant for books with many copies, e.g. {@code -p books=100 -p copiesPerBook=5000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BookCopyPagingBenchmark {
+
+    private static final String SELECT = "explain select c.id, c.available from book_copies c where c.book_id = 1000000 ";
+
+    // The shapes the copy listing generates; every page has to be read from an index in order
+    private static final Map<String, String> EXPECTED_INDEXES = Map.of(
+            SELECT + "and c.id > 0 order by c.book_id, c.id offset 2000 rows fetch first 20 rows only",
+            "IDX_BOOK_COPIES_BOOK_ID:",
+            SELECT + "and c.id > 1000 order by c.book_id, c.id fetch first 21 rows only",
+            "IDX_BOOK_COPIES_BOOK_ID:",
+            SELECT + "and c.available = true order by c.book_id, c.available, c.id offset 2000 rows fetch first 20 rows only",
+            "IDX_BOOK_COPIES_BOOK_ID_AVAILABLE:",
+            SELECT + "and c.available = true and c.id > 1000 order by c.book_id, c.available, c.id fetch first 21 rows only",
+            "IDX_BOOK_COPIES_BOOK_ID_AVAILABLE:");
+
+    private static final int SIZE = 20;
+
+    @Setup(Level.Trial)
+    public void checkPlans(SeededCatalogue catalogue) {
+        EXPECTED_INDEXES.forEach((sql, index) -> {
+            String plan = catalogue.jdbcTemplate.queryForObject(sql, String.class);
+            if (plan == null || !plan.toUpperCase().contains(index) || !plan.contains("/* index sorted */")) {
+                throw new IllegalStateException("Expected " + index + " in plan:\n" + plan);
+            }
+        });
+    }
+
+    @Benchmark
+    public List<BookCopyDto> wholeList(SeededCatalogue catalogue) {
+        return catalogue.bookCopyRepository.findCopyDtosByBookId(bookId(catalogue));
+    }
+
+    @Benchmark
+    public Page<BookCopyDto> firstPage(SeededCatalogue catalogue) {
+        return catalogue.bookCopyRepository.findCopyDtosByBookId(bookId(catalogue), PageRequest.of(0, SIZE));
+    }
+
+    // Half way through the copies, where an offset has to skip what a keyset seeks past
+    @Benchmark
+    public Page<BookCopyDto> middlePage(SeededCatalogue catalogue) {
+        return catalogue.bookCopyRepository.findCopyDtosByBookId(bookId(catalogue),
+                PageRequest.of(catalogue.copiesPerBook / SIZE / 2, SIZE));
+    }
+
+    @Benchmark
+    public List<BookCopyDto> middleKeyset(SeededCatalogue catalogue) {
+        long bookId = bookId(catalogue);
+        return catalogue.bookCopyRepository.findCopyDtosByBookIdAfter(bookId,
+                bookId * catalogue.copiesPerBook + catalogue.copiesPerBook / 2, Limit.of(SIZE + 1));
+    }
+
+    @Benchmark
+    public List<BookCopyDto> availableKeyset(SeededCatalogue catalogue) {
+        long bookId = bookId(catalogue);
+        return catalogue.bookCopyRepository.findCopyDtosByBookIdAndAvailableAfter(bookId, true,
+                bookId * catalogue.copiesPerBook + catalogue.copiesPerBook / 2, Limit.of(SIZE + 1));
+    }
+
+    @Benchmark
+    public Page<BookCopyDto> availableFirstPage(SeededCatalogue catalogue) {
+        return catalogue.bookCopyRepository.findCopyDtosByBookIdAndAvailable(bookId(catalogue), true,
+                PageRequest.of(0, SIZE));
+    }
+
+    private static long bookId(SeededCatalogue catalogue) {
+        return SeededCatalogue.ID_OFFSET + ThreadLocalRandom.current().nextInt(catalogue.books);
+    }
+}
@@ -0,0 +1,34 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.entity.Book;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookLookupBenchmark {
+
+    @Benchmark
+    public Optional<Book> findWithCopiesById(SeededCatalogue catalogue) {
+        return catalogue.bookRepository.findWithCopiesById(
+                SeededCatalogue.ID_OFFSET + ThreadLocalRandom.current().nextInt(catalogue.books));
+    }
+
+    @Benchmark
+    public Optional<Book> findByIsbn(SeededCatalogue catalogue) {
+        return catalogue.bookRepository.findByIsbn(SeededCatalogue.isbn(ThreadLocalRandom.current().nextInt(catalogue.books)));
+    }
+
+    @Benchmark
+    public Optional<Long> findVersionById(SeededCatalogue catalogue) {
+        return catalogue.bookRepository.findVersionById(
+                SeededCatalogue.ID_OFFSET + ThreadLocalRandom.current().nextInt(catalogue.books));
+    }
+}
@@ -0,0 +1,57 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.dto.BookDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offset and keyset pages at the same depth, and the DTO projection against loading entities.
+ * The allocation difference shows with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookPagingBenchmark {
+
+    @Param({"0", "10000"})
+    private int page;
+
+    @Param({"20"})
+    private int size;
+
+    @Benchmark
+    public Page<BookDto> offsetPageProjection(SeededCatalogue catalogue) {
+        return catalogue.bookRepository.findAllBookDtos(PageRequest.of(page, size, Sort.by("id")));
+    }
+
+    @Benchmark
+    public List<BookDto> keysetPageProjection(SeededCatalogue catalogue) {
+        // The seeded ids are contiguous, so this is the last id of the previous page
+        long afterId = SeededCatalogue.ID_OFFSET + (long) page * size - 1;
+        return catalogue.bookRepository.findBookDtosAfter(afterId, Limit.of(size));
+    }
+
+    @Benchmark
+    public List<BookDto> offsetPageEntities(SeededCatalogue catalogue) {
+        return catalogue.bookRepository.findAll(PageRequest.of(page, size, Sort.by("id")))
+                .map(book -> BookDto.builder()
+                        .id(book.getId())
+                        .title(book.getTitle())
+                        .author(book.getAuthor())
+                        .isbn(book.getIsbn())
+                        .publishedYear(book.getPublishedYear())
+                        .availableCopies(book.getAvailableCopies())
+                        .totalCopies(book.getTotalCopies())
+                        .build())
+                .getContent();
+    }
+}
@@ -0,0 +1,72 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.LibraryManagementSystemApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application context over the embedded H2 database, filled with {@code books} rows and {@code copiesPerBook}
+ * copies of each.
+ * Seeded ids are contiguous from {@link #ID_OFFSET}, above anything the sequences hand out.
+ */
+@State(Scope.Benchmark)
+public class SeededCatalogue {
+
+    static final long ID_OFFSET = 1_000_000L;
+    private static final int BATCH = 5_000;
+
+    @Param({"250000"})
+    int books;
+
+    @Param({"2"})
+    int copiesPerBook;
+
+    BookRepository bookRepository;
+    BookCopyRepository bookCopyRepository;
+    JdbcTemplate jdbcTemplate;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibraryManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=warn")
+                .run();
+        bookRepository = context.getBean(BookRepository.class);
+        bookCopyRepository = context.getBean(BookCopyRepository.class);
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int start = 0; start < books; start += BATCH) {
+            List<Object[]> bookRows = new ArrayList<>(BATCH);
+            List<Object[]> copyRows = new ArrayList<>(BATCH * copiesPerBook);
+            for (int i = start; i < Math.min(start + BATCH, books); i++) {
+                long id = ID_OFFSET + i;
+                bookRows.add(new Object[]{id, "Title " + i, "Author " + (i % 5_000), isbn(i), 1950 + i % 70,
+                        (copiesPerBook + 1) / 2, copiesPerBook});
+                for (int c = 0; c < copiesPerBook; c++) {
+                    copyRows.add(new Object[]{id * copiesPerBook + c, id, c % 2 == 0});
+                }
+            }
+            jdbcTemplate.batchUpdate("insert into books (id, title, author, isbn, published_year, available_copies, total_copies, version) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, 0)", bookRows);
+            if (!copyRows.isEmpty()) {
+                jdbcTemplate.batchUpdate("insert into book_copies (id, book_id, available, version) values (?, ?, ?, 0)", copyRows);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    static String isbn(int i) {
+        return String.format("978%010d", i);
+    }
+}
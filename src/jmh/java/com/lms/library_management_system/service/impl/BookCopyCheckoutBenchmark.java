@@ -0,0 +1,138 @@
+package com.lms.library_management_system.service.impl;
+
+import com.lms.library_management_system.LibraryManagementSystemApplication;
+import com.lms.library_management_system.dto.BookCreateDto;
+import com.lms.library_management_system.entity.BookCopy;
+import com.lms.library_management_system.exception.CopyStateConflictException;
+import com.lms.library_management_system.repository.BookCopyRepository;
+import com.lms.library_management_system.repository.BookRepository;
+import com.lms.library_management_system.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 64 threads checking out and returning the 10 copies of one book. Each operation is a checkout or a return
+ * of a random copy, and a conflict when the copy is already in that state. {@code conditionalUpdate} goes
+ * through the service's compare-and-set; {@code versionedRetry} is the read-modify-write it replaced,
+ * guarded by the copy's {@code @Version} with up to {@link #ATTEMPTS} attempts. After each trial the book's
+ * available counter is checked against its copies, so a lost update fails the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class BookCopyCheckoutBenchmark {
+
+    private static final int COPIES = 10;
+    private static final int ATTEMPTS = 3;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        // The copy was already in the requested state, or another thread changed it first
+        public long conflicts;
+        public long retries;
+        public long exhausted;
+    }
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private BookRepository bookRepository;
+    private BookCopyRepository bookCopyRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Long bookId;
+    private Long[] copyIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibraryManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=warn")
+                .run();
+        bookService = context.getBean(BookService.class);
+        bookRepository = context.getBean(BookRepository.class);
+        bookCopyRepository = context.getBean(BookCopyRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        bookId = bookService.createBook(new BookCreateDto("Contended", "Author", "9780000000001", 2024)).getId();
+        copyIds = IntStream.range(0, COPIES)
+                .mapToObj(i -> bookService.addCopyToBook(bookId).getId())
+                .toArray(Long[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Integer counter = jdbcTemplate.queryForObject("select available_copies from books where id = ?", Integer.class, bookId);
+        Integer actual = jdbcTemplate.queryForObject("select count(*) from book_copies where book_id = ? and available",
+                Integer.class, bookId);
+        context.close();
+        if (!actual.equals(counter)) {
+            throw new IllegalStateException("available_copies is " + counter + " but " + actual + " copies are available");
+        }
+    }
+
+    @Benchmark
+    public boolean conditionalUpdate(Outcomes outcomes) {
+        Long copyId = randomCopy();
+        try {
+            return checkout()
+                    ? bookService.checkoutCopy(bookId, copyId).getAvailable()
+                    : bookService.returnCopy(bookId, copyId).getAvailable();
+        } catch (CopyStateConflictException ex) {
+            outcomes.conflicts++;
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean versionedRetry(Outcomes outcomes) {
+        Long copyId = randomCopy();
+        boolean available = !checkout();
+        for (int attempt = 1; attempt <= ATTEMPTS; attempt++) {
+            try {
+                Boolean changed = transactionTemplate.execute(status -> {
+                    BookCopy copy = bookCopyRepository.findById(copyId).orElseThrow();
+                    if (copy.getAvailable() == available) {
+                        return false;
+                    }
+                    copy.setAvailable(available);
+                    bookCopyRepository.saveAndFlush(copy);
+                    bookRepository.adjustAvailableCopies(bookId, available ? 1 : -1);
+                    return true;
+                });
+                if (!changed) {
+                    outcomes.conflicts++;
+                }
+                return changed;
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                outcomes.retries++;
+            }
+        }
+        outcomes.exhausted++;
+        return false;
+    }
+
+    private static boolean checkout() {
+        return ThreadLocalRandom.current().nextBoolean();
+    }
+
+    private Long randomCopy() {
+        return copyIds[ThreadLocalRandom.current().nextInt(COPIES)];
+    }
+}
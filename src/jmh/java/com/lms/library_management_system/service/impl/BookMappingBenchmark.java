@@ -0,0 +1,59 @@
+package com.lms.library_management_system.service.impl;
+
+import com.lms.library_management_system.dto.BookDetailsDto;
+import com.lms.library_management_system.dto.BookDto;
+import com.lms.library_management_system.entity.Book;
+import com.lms.library_management_system.entity.BookCopy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookMappingBenchmark {
+
+    @Param({"0", "5", "50"})
+    private int copies;
+
+    private BookServiceImpl bookService;
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        // The mappers touch neither the repositories nor the caches
+        bookService = new BookServiceImpl(null, null, null, null, null, null);
+
+        book = Book.builder()
+                .id(1L)
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .isbn("9780134685991")
+                .publishedYear(2018)
+                .availableCopies(copies)
+                .totalCopies(copies)
+                .version(0L)
+                .build();
+
+        List<BookCopy> bookCopies = new ArrayList<>(copies);
+        for (long i = 1; i <= copies; i++) {
+            bookCopies.add(BookCopy.builder().id(i).book(book).available(i % 2 == 0).build());
+        }
+        book.setCopies(bookCopies);
+    }
+
+    @Benchmark
+    public BookDto mapToBookDto() {
+        return bookService.mapToBookDto(book);
+    }
+
+    @Benchmark
+    public BookDetailsDto mapToBookDetailsDto() {
+        return bookService.mapToBookDetailsDto(book);
+    }
+}
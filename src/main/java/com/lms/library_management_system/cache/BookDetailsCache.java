@@ -0,0 +1,73 @@
+package com.lms.library_management_system.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.library_management_system.dto.BookDetailsDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of fully built {@link BookDetailsDto}s, bounded by an estimate of their heap size.
+ */
+@Component
+public class BookDetailsCache implements MeterBinder {
+
+    private static final int BASE_WEIGHT = 256;
+    private static final int COPY_WEIGHT = 48;
+
+    private final Cache<Long, BookDetailsDto> cache;
+
+    @Autowired
+    public BookDetailsCache(@Value("${library.details-cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                            @Value("${library.details-cache.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher(BookDetailsCache::weigh)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public BookDetailsDto get(Long id, Function<Long, BookDetailsDto> loader) {
+        return cache.get(id, loader);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+
+        // Drop it again after commit, in case a concurrent read cached the old state before the change was visible
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "bookDetails");
+    }
+
+    private static int weigh(Long id, BookDetailsDto dto) {
+        int copies = dto.getCopies() != null ? dto.getCopies().size() : 0;
+        return BASE_WEIGHT
+                + 2 * (length(dto.getTitle()) + length(dto.getAuthor()) + length(dto.getIsbn()))
+                + COPY_WEIGHT * copies;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
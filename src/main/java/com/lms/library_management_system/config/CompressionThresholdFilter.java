@@ -0,0 +1,198 @@
+package com.lms.library_management_system.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Lets Tomcat's compression threshold apply to API responses. Message converters flush their bodies, so
+ * Tomcat never learns a length and compresses even the smallest ones. This filter holds back the start of
+ * each response until it outgrows {@code server.compression.min-response-size}: a body that ends below it
+ * is sent with a Content-Length and stays uncompressed, a longer one is passed on as it is written, so
+ * streamed pages and exports keep streaming.
+ */
+@Component
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int threshold;
+
+    @Autowired
+    public CompressionThresholdFilter(ServerProperties serverProperties) {
+        this.enabled = serverProperties.getCompression().getEnabled();
+        this.threshold = (int) serverProperties.getCompression().getMinResponseSize().toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ThresholdResponse thresholdResponse = new ThresholdResponse(response, threshold);
+        chain.doFilter(request, thresholdResponse);
+
+        // An async body is still being written on another thread, so its length cannot be known here
+        if (request.isAsyncStarted()) {
+            thresholdResponse.passThrough();
+        } else {
+            thresholdResponse.finish();
+        }
+    }
+
+    private static class ThresholdResponse extends HttpServletResponseWrapper {
+
+        private final int threshold;
+        private final ServletOutputStream outputStream = new ThresholdOutputStream();
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private PrintWriter writer;
+
+        ThresholdResponse(HttpServletResponse response, int threshold) {
+            super(response);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        // Flushing would commit the response before its length is known
+        @Override
+        public synchronized void flushBuffer() throws IOException {
+            if (buffer == null) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public synchronized void resetBuffer() {
+            if (buffer != null) {
+                buffer.reset();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public synchronized void reset() {
+            if (buffer != null) {
+                buffer.reset();
+            }
+            super.reset();
+        }
+
+        // The container writes the error page itself
+        @Override
+        public synchronized void sendError(int sc, String msg) throws IOException {
+            buffer = null;
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public synchronized void sendError(int sc) throws IOException {
+            buffer = null;
+            super.sendError(sc);
+        }
+
+        synchronized void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (buffer != null && buffer.size() > 0 && !isCommitted()) {
+                setContentLength(buffer.size());
+            }
+            passThrough();
+        }
+
+        synchronized void passThrough() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (buffer != null) {
+                ByteArrayOutputStream held = buffer;
+                buffer = null;
+                if (held.size() > 0) {
+                    held.writeTo(super.getOutputStream());
+                }
+            }
+        }
+
+        private class ThresholdOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                synchronized (ThresholdResponse.this) {
+                    if (buffer != null && buffer.size() < threshold) {
+                        buffer.write(b);
+                        return;
+                    }
+                    passThrough();
+                    ThresholdResponse.super.getOutputStream().write(b);
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                synchronized (ThresholdResponse.this) {
+                    if (buffer != null && buffer.size() + len <= threshold) {
+                        buffer.write(b, off, len);
+                        return;
+                    }
+                    passThrough();
+                    ThresholdResponse.super.getOutputStream().write(b, off, len);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                synchronized (ThresholdResponse.this) {
+                    if (buffer == null) {
+                        ThresholdResponse.super.getOutputStream().flush();
+                    }
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                synchronized (ThresholdResponse.this) {
+                    if (buffer == null) {
+                        ThresholdResponse.super.getOutputStream().close();
+                    }
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException("Non-blocking writes are not used by the API");
+            }
+        }
+    }
+}
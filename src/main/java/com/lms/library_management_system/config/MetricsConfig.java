@@ -0,0 +1,31 @@
+package com.lms.library_management_system.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.library_management_system.metrics.SqlStatementCounter;
+import com.lms.library_management_system.metrics.TimedJacksonHttpMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Service methods are timed through {@code @Timed} and repository calls by Spring Boot's repository metrics.
+ * This adds the per-request SQL statement count and the serialization timer, tagged with the wire format.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    // Replaces the converter Spring Boot would otherwise register for application/json
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
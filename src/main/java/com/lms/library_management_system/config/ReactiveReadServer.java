@@ -0,0 +1,71 @@
+package com.lms.library_management_system.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.library_management_system.controller.ReactiveBookHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Serves the reactive read endpoints from a Reactor Netty server on {@code library.reactive.port}, next to
+ * the servlet container. Spring Boot runs a single web server per context and picks Tomcat when both MVC
+ * and WebFlux are present, so this one is started by hand once the main server is up. Contexts without a
+ * real server, such as MockMvc tests, never start it.
+ */
+@Component
+public class ReactiveReadServer implements ApplicationListener<WebServerInitializedEvent>, DisposableBean {
+
+    private final ReactiveBookHandler reactiveBookHandler;
+    private final ObjectMapper objectMapper;
+    private final int port;
+
+    private DisposableServer server;
+
+    @Autowired
+    public ReactiveReadServer(ReactiveBookHandler reactiveBookHandler,
+                              ObjectMapper objectMapper,
+                              @Value("${library.reactive.port:8081}") int port) {
+        this.reactiveBookHandler = reactiveBookHandler;
+        this.objectMapper = objectMapper;
+        this.port = port;
+    }
+
+    @Override
+    public synchronized void onApplicationEvent(WebServerInitializedEvent event) {
+        // The management server, when it runs on its own port, publishes the same event
+        if (server != null || event.getApplicationContext().getServerNamespace() != null) {
+            return;
+        }
+
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(
+                RouterFunctions.toHttpHandler(reactiveBookHandler.routes(), strategies));
+        server = HttpServer.create().port(port).handle(adapter).bindNow();
+    }
+
+    public synchronized int getPort() {
+        return server != null ? server.port() : -1;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.lms.library_management_system.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Runs BookPurger
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
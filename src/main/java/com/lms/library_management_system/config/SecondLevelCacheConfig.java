@@ -0,0 +1,69 @@
+package com.lms.library_management_system.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hands Hibernate a Caffeine-backed JCache manager whose regions are sized from application properties.
+ * The manager belongs to the application context and is closed with it.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final String BOOK_REGION = "book";
+    static final String BOOK_COPY_REGION = "book-copy";
+    static final String BOOK_COPIES_REGION = "book-copies";
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    // Each context gets a manager of its own, so cached test contexts or a second embedded context never share
+    // regions, and closing one context leaves the others' regions open
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${library.cache.entity.max-entries:100000}") long entityMaxEntries,
+            @Value("${library.cache.entity.ttl:PT10M}") Duration entityTtl,
+            @Value("${library.cache.query.max-entries:10000}") long queryMaxEntries,
+            @Value("${library.cache.query.ttl:PT5M}") Duration queryTtl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("library-" + UUID.randomUUID()),
+                provider.getDefaultClassLoader());
+
+        createRegion(cacheManager, BOOK_REGION, entityMaxEntries, entityTtl);
+        createRegion(cacheManager, BOOK_COPY_REGION, entityMaxEntries, entityTtl);
+        createRegion(cacheManager, BOOK_COPIES_REGION, entityMaxEntries, entityTtl);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, queryMaxEntries, queryTtl);
+        // Timestamps must outlive every cached query result, so this region is never bounded
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, Duration.ZERO);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        if (maxEntries > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (!ttl.isZero()) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
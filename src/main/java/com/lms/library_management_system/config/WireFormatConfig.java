@@ -0,0 +1,50 @@
+package com.lms.library_management_system.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.lms.library_management_system.metrics.TimedCborHttpMessageConverter;
+import com.lms.library_management_system.metrics.TimedSmileHttpMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the same DTOs for clients that ask for them with {@code Accept: application/cbor} or
+ * {@code application/x-jackson-smile}. The mappers come from Spring Boot's builder, so they are configured
+ * like the JSON one. Each bean takes the place of the default converter of its type, which Spring MVC lists
+ * after JSON, so JSON stays the answer to a wildcard Accept header and to requests without one.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    // Any API response can come in more than one format, so shared caches have to key it on Accept as well.
+    // Set up front so that 304 answers carry it too.
+    @Bean
+    public FilterRegistrationBean<Filter> varyAcceptFilter() {
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+            ((HttpServletResponse) response).addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            chain.doFilter(request, response);
+        });
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                            MeterRegistry meterRegistry) {
+        return new TimedCborHttpMessageConverter(builder.factory(new CBORFactory()).build(), meterRegistry);
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                              MeterRegistry meterRegistry) {
+        return new TimedSmileHttpMessageConverter(builder.factory(new SmileFactory()).build(), meterRegistry);
+    }
+}
@@ -1,38 +1,134 @@
 package com.lms.library_management_system.controller;
 
 import com.lms.library_management_system.dto.*;
+import com.lms.library_management_system.exception.InvalidPageSizeException;
+import com.lms.library_management_system.service.BookExportService;
+import com.lms.library_management_system.service.BookImportService;
 import com.lms.library_management_system.service.BookService;
+import com.lms.library_management_system.util.SortParser;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/books")
 public class BookController {
 
+    // Each of these is backed by an index on books
+    private static final Set<String> SORTABLE = Set.of("id", "title", "author", "publishedYear");
+    // The formats the book DTOs are written in, in the order Spring MVC's converters offer them
+    private static final List<MediaType> WIRE_FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            MediaType.valueOf("application/x-jackson-smile"));
+
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final int maxPageSize;
+    private final int streamThreshold;
+    private final Duration exportTimeout;
+    private final ContentNegotiationManager contentNegotiationManager;
 
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService,
+                          BookImportService bookImportService,
+                          BookExportService bookExportService,
+                          @Value("${library.listing.max-page-size:10000}") int maxPageSize,
+                          @Value("${library.listing.stream-threshold:1000}") int streamThreshold,
+                          @Value("${library.export.timeout:PT30M}") Duration exportTimeout,
+                          ContentNegotiationManager contentNegotiationManager) {
         this.bookService = bookService;
+        this.bookImportService = bookImportService;
+        this.bookExportService = bookExportService;
+        this.maxPageSize = maxPageSize;
+        this.streamThreshold = streamThreshold;
+        this.exportTimeout = exportTimeout;
+        this.contentNegotiationManager = contentNegotiationManager;
     }
 
     //Endpoint 1
     @GetMapping
-    public ResponseEntity<Page<BookDto>> getAllBooks(
+    public ResponseEntity<?> getAllBooks(
+            BookFilterDto filter,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort
+    ) {
+        checkPageSize(size);
+        PageRequest pageable = PageRequest.of(page, size, SortParser.parse(sort, SORTABLE));
+
+        // Large pages are read and written row by row while the response is serialized. Small ones are read
+        // up front, so their connection goes back to the pool before a slow client starts reading.
+        if (size > streamThreshold) {
+            StreamedPageDto<BookDto> books = new StreamedPageDto<>(pageable,
+                    writer -> bookService.writeAllBooks(filter, pageable, writer));
+            return ResponseEntity.ok(books);
+        }
+
+        Page<BookDto> books = bookService.getAllBooks(filter, pageable);
+        return ResponseEntity.ok(books);
+    }
+
+    //Endpoint 1 (keyset mode, opt-in with ?after=)
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDto<BookDto>> getBooksAfter(
+            @RequestParam String after,
             @RequestParam(defaultValue = "10") int size
     ) {
-        Page<BookDto> books = bookService.getAllBooks(PageRequest.of(page, size));
+        checkPageSize(size);
+        CursorPageDto<BookDto> books = bookService.getBooksAfter(after, size);
         return ResponseEntity.ok(books);
     }
 
+    //Endpoint 11
+    @GetMapping("/search")
+    public ResponseEntity<Page<BookDto>> searchBooks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        checkPageSize(size);
+        Page<BookDto> books = bookService.searchBooks(q, PageRequest.of(page, size));
+        return ResponseEntity.ok(books);
+    }
+
+    //Endpoint 12
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggestBooks(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<SuggestionDto> suggestions = bookService.suggestBooks(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    //Endpoint 16
+    @PostMapping("/lookup")
+    public ResponseEntity<BookLookupResultDto> lookupBooks(@Valid @RequestBody BookLookupDto dto) {
+        BookLookupResultDto result = bookService.lookupBooks(dto);
+        return ResponseEntity.ok(result);
+    }
 
     //Endpoint 2
     @PostMapping
@@ -43,8 +139,17 @@ public class BookController {
 
     //Endpoint 3
     @GetMapping("/{id}")
-    public ResponseEntity<BookDetailsDto> getBookById(@PathVariable Long id) {
+    public ResponseEntity<BookDetailsDto> getBookById(@PathVariable Long id, NativeWebRequest request) {
+        // A matching tag is answered from the version alone, without loading or mapping the book
+        if (request.checkNotModified(eTag(id, request))) {
+            return null;
+        }
+
+        // The (usually cached) DTO can be of another version than the one just read, so the tag checkNotModified
+        // set is replaced with the DTO's own, and a body never goes out under a newer tag
         BookDetailsDto book = bookService.getBookById(id);
+        request.getNativeResponse(HttpServletResponse.class)
+                .setHeader(HttpHeaders.ETAG, eTag(id, book.getVersion(), request));
         return ResponseEntity.ok(book);
     }
 
@@ -64,9 +169,51 @@ public class BookController {
     }
 
     //Endpoint 6
-    @GetMapping("/{id}/copies")
-    public ResponseEntity<List<BookCopyDto>> getCopiesByBookId(@PathVariable Long id) {
-        List<BookCopyDto> copies = bookService.getCopiesByBookId(id);
+    @GetMapping(value = "/{id}/copies", params = {"!page", "!size", "!after"})
+    public ResponseEntity<List<BookCopyDto>> getCopiesByBookId(@PathVariable Long id,
+                                                               @RequestParam(required = false) Boolean available,
+                                                               NativeWebRequest request) {
+        if (request.checkNotModified(eTag(id, request))) {
+            return null;
+        }
+
+        List<BookCopyDto> copies = bookService.getCopiesByBookId(id, available);
+        return ResponseEntity.ok(copies);
+    }
+
+    //Endpoint 6 (paged mode, opt-in with ?page= or ?size=)
+    @GetMapping(value = "/{id}/copies", params = "!after")
+    public ResponseEntity<Page<BookCopyDto>> getCopiesPage(
+            @PathVariable Long id,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            NativeWebRequest request
+    ) {
+        checkPageSize(size);
+        if (request.checkNotModified(eTag(id, request))) {
+            return null;
+        }
+
+        Page<BookCopyDto> copies = bookService.getCopiesByBookId(id, available, PageRequest.of(page, size));
+        return ResponseEntity.ok(copies);
+    }
+
+    //Endpoint 6 (keyset mode, opt-in with ?after=)
+    @GetMapping(value = "/{id}/copies", params = "after")
+    public ResponseEntity<CursorPageDto<BookCopyDto>> getCopiesAfter(
+            @PathVariable Long id,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            NativeWebRequest request
+    ) {
+        checkPageSize(size);
+        if (request.checkNotModified(eTag(id, request))) {
+            return null;
+        }
+
+        CursorPageDto<BookCopyDto> copies = bookService.getCopiesAfter(id, available, after, size);
         return ResponseEntity.ok(copies);
     }
 
@@ -88,4 +235,88 @@ public class BookController {
         return ResponseEntity.ok(updated);
     }
 
+    //Endpoint 13
+    @PostMapping("/{id}/copies/{copyId}/checkout")
+    public ResponseEntity<BookCopyDto> checkoutCopy(@PathVariable Long id, @PathVariable Long copyId) {
+        BookCopyDto copy = bookService.checkoutCopy(id, copyId);
+        return ResponseEntity.ok(copy);
+    }
+
+    //Endpoint 14
+    @PostMapping("/{id}/copies/{copyId}/return")
+    public ResponseEntity<BookCopyDto> returnCopy(@PathVariable Long id, @PathVariable Long copyId) {
+        BookCopyDto copy = bookService.returnCopy(id, copyId);
+        return ResponseEntity.ok(copy);
+    }
+
+    //Endpoint 15
+    @PatchMapping("/copies/availability")
+    public ResponseEntity<CopyAvailabilityResultDto> updateCopiesAvailability(
+            @Valid @Size(max = 5000, message = "At most 5000 updates per batch")
+            @RequestBody List<@NotNull(message = "Batch items must not be null") CopyAvailabilityUpdateDto> updates
+    ) {
+        CopyAvailabilityResultDto result = bookService.updateCopiesAvailability(updates);
+        return ResponseEntity.ok(result);
+    }
+
+    //Endpoint 9
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResultDto> importBooks(InputStream body) {
+        BulkImportResultDto result = bookImportService.importBooks(body);
+        return ResponseEntity.ok(result);
+    }
+
+    //Endpoint 10
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean includeCopies,
+            WebRequest request
+    ) {
+        // A whole catalogue takes longer to write than the default async timeout allows other requests
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+
+        StreamingResponseBody body = out -> bookExportService.exportBooks(format, includeCopies, out);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("books." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    private void checkPageSize(int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidPageSizeException(size, maxPageSize);
+        }
+    }
+
+    // Every copy change bumps the book version too, so one version covers the book and its copies
+    private String eTag(Long id, NativeWebRequest request) {
+        return eTag(id, bookService.getBookVersion(id), request);
+    }
+
+    // Each wire format is a representation of its own, so a tag received with JSON never matches a CBOR request.
+    // Weak, because the gzipped and the plain body carry the same tag, and Tomcat compresses no strongly tagged body.
+    private String eTag(Long id, long version, NativeWebRequest request) {
+        return "W/\"" + id + "-" + version + "-" + wireFormat(request) + "\"";
+    }
+
+    // The format content negotiation will write the body in, decided the same way ahead of the body
+    private String wireFormat(NativeWebRequest request) {
+        try {
+            for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(request)) {
+                for (MediaType format : WIRE_FORMATS) {
+                    if (accepted.isCompatibleWith(format)) {
+                        return format.getSubtype();
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            // Negotiation rejects the request itself once the body is written
+        }
+        return MediaType.APPLICATION_JSON.getSubtype();
+    }
+
 }
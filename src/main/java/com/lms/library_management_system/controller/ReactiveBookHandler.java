@@ -0,0 +1,141 @@
+package com.lms.library_management_system.controller;
+
+import com.lms.library_management_system.dto.BookCopyDto;
+import com.lms.library_management_system.dto.BookDetailsDto;
+import com.lms.library_management_system.dto.BookDto;
+import com.lms.library_management_system.exception.BookNotFoundException;
+import com.lms.library_management_system.exception.InvalidPageSizeException;
+import com.lms.library_management_system.repository.ReactiveBookRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Non-blocking versions of the read endpoints (1, 3 and 6) under the same paths. A listing is read in full
+ * without blocking and then written: newline-delimited JSON when the client accepts
+ * {@code application/x-ndjson}, otherwise a JSON array. Reading it first hands the connection back to the
+ * pool before a slow client starts draining the response. Unlike endpoint 1 the listing is a plain array
+ * without page metadata, so nothing has to be counted.
+ */
+@Component
+public class ReactiveBookHandler {
+
+    private final ReactiveBookRepository reactiveBookRepository;
+    private final int maxPageSize;
+
+    @Autowired
+    public ReactiveBookHandler(ReactiveBookRepository reactiveBookRepository,
+                               @Value("${library.listing.max-page-size:10000}") int maxPageSize) {
+        this.reactiveBookRepository = reactiveBookRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/books", this::getAllBooks)
+                .GET("/api/books/{id}", this::getBookById)
+                .GET("/api/books/{id}/copies", this::getCopiesByBookId)
+                .build();
+    }
+
+    //Endpoint 1
+    public Mono<ServerResponse> getAllBooks(ServerRequest request) {
+        int page;
+        int size;
+        try {
+            page = Integer.parseInt(request.queryParam("page").orElse("0"));
+            size = Integer.parseInt(request.queryParam("size").orElse("10"));
+        } catch (NumberFormatException ex) {
+            return error(HttpStatus.BAD_REQUEST, "page and size must be integers", request);
+        }
+        if (page < 0) {
+            return error(HttpStatus.BAD_REQUEST, "page must not be negative", request);
+        }
+        // Same cap as endpoint 1, since the whole page is held in memory before it is written
+        if (size < 1 || size > maxPageSize) {
+            return error(HttpStatus.BAD_REQUEST, new InvalidPageSizeException(size, maxPageSize).getMessage(), request);
+        }
+
+        // The page is read in full before it is written, so a slow client holds its rows in memory rather than
+        // one of the pooled connections for as long as it takes to drain them
+        Flux<BookDto> books = reactiveBookRepository.findBooks((long) page * size, size)
+                .collectList()
+                .flatMapIterable(list -> list);
+        return stream(request, books, BookDto.class);
+    }
+
+    //Endpoint 3
+    public Mono<ServerResponse> getBookById(ServerRequest request) {
+        Long id = bookId(request);
+        if (id == null) {
+            return invalidId(request);
+        }
+
+        return reactiveBookRepository.findBookDetails(id)
+                .flatMap(book -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(book))
+                .switchIfEmpty(Mono.defer(() -> notFound(id, request)));
+    }
+
+    //Endpoint 6
+    public Mono<ServerResponse> getCopiesByBookId(ServerRequest request) {
+        Long id = bookId(request);
+        if (id == null) {
+            return invalidId(request);
+        }
+
+        return reactiveBookRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? stream(request, reactiveBookRepository.findCopies(id).collectList().flatMapIterable(list -> list),
+                                BookCopyDto.class)
+                        : notFound(id, request));
+    }
+
+    private static <T> Mono<ServerResponse> stream(ServerRequest request, Flux<T> body, Class<T> type) {
+        // Only an explicit NDJSON accept switches the format, a wildcard gets the array
+        MediaType contentType = request.headers().accept().stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(body, type);
+    }
+
+    private static Long bookId(ServerRequest request) {
+        try {
+            return Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static Mono<ServerResponse> invalidId(ServerRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "id: invalid value '" + request.pathVariable("id") + "'", request);
+    }
+
+    private static Mono<ServerResponse> notFound(Long id, ServerRequest request) {
+        return error(HttpStatus.NOT_FOUND, new BookNotFoundException(id).getMessage(), request);
+    }
+
+    // Same body as GlobalExceptionHandler writes for the blocking endpoints
+    private static Mono<ServerResponse> error(HttpStatus status, String message, ServerRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        body.put("path", request.path());
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+}
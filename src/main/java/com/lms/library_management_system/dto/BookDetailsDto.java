@@ -1,5 +1,6 @@
 package com.lms.library_management_system.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.util.List;
@@ -16,4 +17,8 @@ public class BookDetailsDto {
     private String isbn;
     private Integer publishedYear;
     private List<BookCopyDto> copies;
+
+    // The book version this snapshot was built at, for the ETag; not part of the response body
+    @JsonIgnore
+    private Long version;
 }
@@ -13,4 +13,6 @@ public class BookDto {
     private String author;
     private String isbn;
     private Integer publishedYear;
+    private Integer availableCopies;
+    private Integer totalCopies;
 }
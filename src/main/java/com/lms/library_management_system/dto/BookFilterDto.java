@@ -0,0 +1,19 @@
+package com.lms.library_management_system.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookFilterDto {
+    // Exact match, so the lookup stays on the author index
+    private String author;
+    private Integer yearFrom;
+    private Integer yearTo;
+
+    public boolean isEmpty() {
+        return (author == null || author.isBlank()) && yearFrom == null && yearTo == null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.lms.library_management_system.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookLookupDto {
+
+    @Builder.Default
+    @Size(max = 5000, message = "At most 5000 ids per lookup")
+    private List<Long> ids = new ArrayList<>();
+
+    @Builder.Default
+    @Size(max = 5000, message = "At most 5000 ISBNs per lookup")
+    private List<String> isbns = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.lms.library_management_system.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookLookupResultDto {
+    private List<BookDetailsDto> books;
+    private List<Long> missingIds;
+    private List<String> missingIsbns;
+}
@@ -0,0 +1,17 @@
+package com.lms.library_management_system.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkImportResultDto {
+    private int received;
+    private int created;
+    private int rejected;
+    private List<BulkImportRowDto> rows;
+}
@@ -0,0 +1,16 @@
+package com.lms.library_management_system.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkImportRowDto {
+    private int row;
+    private String isbn;
+    private BulkImportStatus status;
+    private Long id;
+    private String message;
+}
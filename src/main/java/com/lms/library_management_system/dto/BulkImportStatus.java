@@ -0,0 +1,7 @@
+package com.lms.library_management_system.dto;
+
+public enum BulkImportStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,18 @@
+package com.lms.library_management_system.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CopyAvailabilityResultDto {
+    private int received;
+    private int updated;
+    private int unchanged;
+    private int rejected;
+    private List<CopyAvailabilityRowDto> rows;
+}
@@ -0,0 +1,17 @@
+package com.lms.library_management_system.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CopyAvailabilityRowDto {
+    private int row;
+    private Long copyId;
+    private Long bookId;
+    private CopyAvailabilityStatus status;
+    private Boolean available;
+    private String message;
+}
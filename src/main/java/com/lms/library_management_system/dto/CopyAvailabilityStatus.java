@@ -0,0 +1,9 @@
+package com.lms.library_management_system.dto;
+
+public enum CopyAvailabilityStatus {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    MISMATCH,
+    INVALID
+}
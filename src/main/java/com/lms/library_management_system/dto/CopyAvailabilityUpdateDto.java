@@ -0,0 +1,15 @@
+package com.lms.library_management_system.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CopyAvailabilityUpdateDto {
+    private Long copyId;
+    private Boolean available;
+    // Optional: when given, the copy must belong to this book
+    private Long bookId;
+}
@@ -0,0 +1,77 @@
+package com.lms.library_management_system.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+
+/**
+ * A page whose items are written to the generator as they are read, instead of being collected into a
+ * {@code Page} first. It is written with the same fields as a {@code PageImpl}, in whichever format the
+ * response was negotiated in. The total is only known once the items are out, so the page metadata follows
+ * the content.
+ */
+public class StreamedPageDto<T> implements JsonSerializable {
+
+    @FunctionalInterface
+    public interface ItemWriter<T> {
+        void write(T item) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface Content<T> {
+        /**
+         * Passes every item of the page to the writer and returns the total number of elements.
+         */
+        long writeTo(ItemWriter<T> writer) throws IOException;
+    }
+
+    private final Pageable pageable;
+    private final Content<T> content;
+
+    public StreamedPageDto(Pageable pageable, Content<T> content) {
+        this.pageable = pageable;
+        this.content = content;
+    }
+
+    public Pageable getPageable() {
+        return pageable;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        generator.writeStartObject(this);
+        generator.writeArrayFieldStart("content");
+        int[] written = {0};
+        long total = content.writeTo(item -> {
+            serializers.defaultSerializeValue(item, generator);
+            written[0]++;
+        });
+        generator.writeEndArray();
+
+        // Derived the way PageImpl derives them
+        int size = pageable.getPageSize();
+        int number = pageable.getPageNumber();
+        int totalPages = (int) Math.ceil((double) total / size);
+        serializers.defaultSerializeField("pageable", pageable, generator);
+        generator.writeBooleanField("last", number + 1 >= totalPages);
+        generator.writeNumberField("totalPages", totalPages);
+        generator.writeNumberField("totalElements", total);
+        generator.writeNumberField("size", size);
+        generator.writeNumberField("number", number);
+        serializers.defaultSerializeField("sort", pageable.getSort(), generator);
+        generator.writeBooleanField("first", number == 0);
+        generator.writeNumberField("numberOfElements", written[0]);
+        generator.writeBooleanField("empty", written[0] == 0);
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(generator, serializers);
+    }
+}
@@ -0,0 +1,16 @@
+package com.lms.library_management_system.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionDto {
+    private String text;
+    private SuggestionType type;
+    // Set for title suggestions only
+    private Long bookId;
+    private Integer copies;
+}
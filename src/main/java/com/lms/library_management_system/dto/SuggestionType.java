@@ -0,0 +1,6 @@
+package com.lms.library_management_system.dto;
+
+public enum SuggestionType {
+    TITLE,
+    AUTHOR
+}
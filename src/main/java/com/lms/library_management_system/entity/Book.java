@@ -3,12 +3,25 @@ package com.lms.library_management_system.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "books")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book")
+// Deleted books stay until BookPurger removes them (see BookTombstone), and no entity query sees them
+@SQLRestriction("deleted_at is null")
+// Author lookups use the leading column of the composite index, so it needs no index of its own. The trailing
+// id matches the tie-break of the listing, so a page is read in index order and stops after its rows.
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_author_published_year", columnList = "author, published_year, id"),
+        @Index(name = "idx_books_published_year", columnList = "published_year, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +30,8 @@ import java.util.List;
 public class Book {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -41,7 +55,22 @@ public class Book {
     @Max(value = 2100, message = "Published year must be realistic")
     private Integer publishedYear;
 
+    // Only the counter statements of BookCounterRepository write these; saving the entity must not overwrite them
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Integer availableCopies = 0;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Integer totalCopies = 0;
+
+    @Version
+    private Long version;
+
+    private LocalDateTime deletedAt;
+
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book-copies")
     @Builder.Default
     private List<BookCopy> copies = new ArrayList<>();
 
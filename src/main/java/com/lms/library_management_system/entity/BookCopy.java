@@ -3,9 +3,17 @@ package com.lms.library_management_system.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "book_copies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book-copy")
+// Both serve the copy listing in id order, so a page stops after its rows instead of sorting every copy
+@Table(name = "book_copies", indexes = {
+        @Index(name = "idx_book_copies_book_id", columnList = "book_id, id"),
+        @Index(name = "idx_book_copies_book_id_available", columnList = "book_id, available, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,7 +22,8 @@ import lombok.*;
 public class BookCopy {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_copy_seq")
+    @SequenceGenerator(name = "book_copy_seq", sequenceName = "book_copy_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -23,4 +32,7 @@ public class BookCopy {
 
     @NotNull
     private Boolean available = true;
+
+    @Version
+    private Long version;
 }
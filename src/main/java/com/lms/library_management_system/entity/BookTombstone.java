@@ -0,0 +1,27 @@
+package com.lms.library_management_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A deleted book waiting for BookPurger. Kept apart from {@code books} so finding the next batch never scans
+ * the catalogue, and so {@code books} needs no index on {@code deleted_at} that the planner could prefer over
+ * the listing indexes.
+ */
+@Entity
+@Table(name = "book_tombstones", indexes = @Index(name = "idx_book_tombstones_deleted_at", columnList = "deleted_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookTombstone {
+
+    @Id
+    private Long bookId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
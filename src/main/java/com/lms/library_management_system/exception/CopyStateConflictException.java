@@ -0,0 +1,7 @@
+package com.lms.library_management_system.exception;
+
+public class CopyStateConflictException extends RuntimeException {
+    public CopyStateConflictException(Long id, boolean available) {
+        super("Book copy with ID " + id + (available ? " is already available" : " is already checked out"));
+    }
+}
@@ -1,11 +1,20 @@
 package com.lms.library_management_system.exception;
 
+import com.lms.library_management_system.metrics.RequestTags;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -14,24 +23,75 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(BookNotFoundException.class)
     public ResponseEntity<Object> handleBookNotFound(BookNotFoundException ex, HttpServletRequest request) {
-        return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI());
+        return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage(), ex, request);
     }
 
     @ExceptionHandler(CopyNotFoundException.class)
     public ResponseEntity<Object> handleCopyNotFound(CopyNotFoundException ex, HttpServletRequest request) {
-        return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI());
+        return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage(), ex, request);
+    }
+
+    @ExceptionHandler(CopyStateConflictException.class)
+    public ResponseEntity<Object> handleCopyStateConflict(CopyStateConflictException ex, HttpServletRequest request) {
+        return buildResponse(HttpStatus.CONFLICT, ex.getMessage(), ex, request);
     }
 
     @ExceptionHandler(DuplicateBookException.class)
     public ResponseEntity<Object> handleDuplicateBook(DuplicateBookException ex, HttpServletRequest request) {
-        return buildResponse(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
+        return buildResponse(HttpStatus.CONFLICT, ex.getMessage(), ex, request);
+    }
+
+    // Only unique keys make a duplicate; other constraints reject the data itself, and without a constraint
+    // behind it the violation is not the client's doing
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Object> handleDataIntegrityViolation(DataIntegrityViolationException ex, HttpServletRequest request) {
+        if (!(ex.getCause() instanceof org.hibernate.exception.ConstraintViolationException violation)) {
+            return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Data integrity violation.", ex, request);
+        }
+        if (violation.getKind() == org.hibernate.exception.ConstraintViolationException.ConstraintKind.UNIQUE) {
+            return buildResponse(HttpStatus.CONFLICT, "Book with same title or ISBN already exists.", ex, request);
+        }
+        return buildResponse(HttpStatus.BAD_REQUEST, "Request violates a data constraint.", ex, request);
+    }
+
+    // Every copy change bumps the book version, so an edit can race one; the client reloads and retries
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLocking(OptimisticLockingFailureException ex, HttpServletRequest request) {
+        return buildResponse(HttpStatus.CONFLICT, "Book was changed concurrently, reload it and retry.", ex, request);
     }
 
     @ExceptionHandler(BookCopyMismatchException.class)
     public ResponseEntity<Object> handleCopyMismatch(BookCopyMismatchException ex, HttpServletRequest request) {
-        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), ex, request);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursor(InvalidCursorException ex, HttpServletRequest request) {
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), ex, request);
+    }
+
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<Object> handleInvalidSort(InvalidSortException ex, HttpServletRequest request) {
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), ex, request);
+    }
+
+    @ExceptionHandler(InvalidPageSizeException.class)
+    public ResponseEntity<Object> handleInvalidPageSize(InvalidPageSizeException ex, HttpServletRequest request) {
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), ex, request);
+    }
+
+    @ExceptionHandler(SearchIndexNotReadyException.class)
+    public ResponseEntity<Object> handleSearchIndexNotReady(SearchIndexNotReadyException ex, HttpServletRequest request) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex, request);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -43,26 +103,50 @@ public class GlobalExceptionHandler {
                 .findFirst()
                 .orElse("Validation error");
 
-        return buildResponse(HttpStatus.BAD_REQUEST, errorMessage, request.getRequestURI());
+        return buildResponse(HttpStatus.BAD_REQUEST, errorMessage, ex, request);
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Object> handleConstraint(ConstraintViolationException ex, HttpServletRequest request) {
-        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), ex, request);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Object> handleMethodValidation(HandlerMethodValidationException ex, HttpServletRequest request) {
+        String errorMessage = ex.getAllErrors()
+                .stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .findFirst()
+                .orElse("Validation error");
+
+        return buildResponse(HttpStatus.BAD_REQUEST, errorMessage, ex, request);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Object> handleTypeMismatch(MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getName() + ": invalid value '" + ex.getValue() + "'", ex, request);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAll(Exception ex, HttpServletRequest request) {
-        return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), request.getRequestURI());
+        return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), ex, request);
     }
 
-    private ResponseEntity<Object> buildResponse(HttpStatus status, String message, String path) {
+    private ResponseEntity<Object> buildResponse(HttpStatus status, String message, Exception ex, HttpServletRequest request) {
+        Counter.builder("library.http.exceptions")
+                .description("Exceptions mapped to error responses")
+                .tag("endpoint", RequestTags.endpoint(request))
+                .tag("outcome", HttpStatus.Series.valueOf(status.value()).name())
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now().toString());
         body.put("status", status.value());
         body.put("error", status.getReasonPhrase());
         body.put("message", message);
-        body.put("path", path);
+        body.put("path", request.getRequestURI());
         return ResponseEntity.status(status).body(body);
     }
 }
@@ -0,0 +1,11 @@
+package com.lms.library_management_system.exception;
+
+public class InvalidPageSizeException extends RuntimeException {
+    public InvalidPageSizeException(int size) {
+        super("Invalid page size: " + size + ", must be positive");
+    }
+
+    public InvalidPageSizeException(int size, int maxPageSize) {
+        super("Invalid page size: " + size + ", must be between 1 and " + maxPageSize);
+    }
+}
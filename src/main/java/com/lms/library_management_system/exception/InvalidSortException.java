@@ -0,0 +1,7 @@
+package com.lms.library_management_system.exception;
+
+public class InvalidSortException extends RuntimeException {
+    public InvalidSortException(String sort) {
+        super("Invalid sort: " + sort);
+    }
+}
@@ -0,0 +1,7 @@
+package com.lms.library_management_system.exception;
+
+public class SearchIndexNotReadyException extends RuntimeException {
+    public SearchIndexNotReadyException() {
+        super("Search index is still being built, please retry shortly.");
+    }
+}
@@ -0,0 +1,187 @@
+package com.lms.library_management_system.index;
+
+import com.lms.library_management_system.repository.BookRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over normalized ISBNs and titles, consulted before the duplicate checks in front of
+ * book inserts. A negative answer is definite and skips the database probe; a positive answer is
+ * confirmed against the database. Deleted books stay in the filter and only cost a probe.
+ */
+@Component
+public class BookKeyFilter implements MeterBinder {
+
+    private final BookRepository bookRepository;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    // Until the warm load has finished every key is reported as possibly present
+    private volatile boolean ready;
+
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder probed = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder keys = new LongAdder();
+
+    @Autowired
+    public BookKeyFilter(BookRepository bookRepository,
+                         @Value("${library.key-filter.expected-keys:2000000}") long expectedKeys,
+                         @Value("${library.key-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.bookRepository = bookRepository;
+
+        // ISBN and title are stored in the same filter, so it holds two keys per book
+        long entries = Math.max(1, expectedKeys * 2);
+        long optimalBits = (long) Math.ceil(-entries * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        try (Stream<String> isbns = bookRepository.streamAllIsbns()) {
+            isbns.forEach(this::addIsbn);
+        }
+        try (Stream<String> titles = bookRepository.streamAllTitles()) {
+            titles.forEach(this::addTitle);
+        }
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void addIsbn(String isbn) {
+        add(isbnKey(isbn));
+    }
+
+    public void addTitle(String title) {
+        add(titleKey(title));
+    }
+
+    /**
+     * Returns whether a book with this ISBN exists, running {@code database} only when the filter cannot rule it out.
+     */
+    public boolean isbnExists(String isbn, Predicate<String> database) {
+        return exists(isbnKey(isbn), isbn, database);
+    }
+
+    public boolean titleExists(String title, Predicate<String> database) {
+        return exists(titleKey(title), title, database);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("library.key_filter.lookups", skipped, LongAdder::doubleValue)
+                .tag("result", "skipped")
+                .description("Duplicate checks answered by the filter without a database probe")
+                .register(registry);
+        FunctionCounter.builder("library.key_filter.lookups", probed, LongAdder::doubleValue)
+                .tag("result", "probed")
+                .description("Duplicate checks the filter could not rule out")
+                .register(registry);
+        FunctionCounter.builder("library.key_filter.false_positives", falsePositives, LongAdder::doubleValue)
+                .description("Probes where the database did not have the key")
+                .register(registry);
+        Gauge.builder("library.key_filter.false_positive_rate", this, BookKeyFilter::falsePositiveRate)
+                .description("Share of probes that turned out to be false positives")
+                .register(registry);
+        Gauge.builder("library.key_filter.keys", keys, LongAdder::doubleValue)
+                .description("Keys added to the filter")
+                .register(registry);
+    }
+
+    public double falsePositiveRate() {
+        long probes = probed.sum();
+        return probes == 0 ? 0.0 : (double) falsePositives.sum() / probes;
+    }
+
+    private boolean exists(String key, String value, Predicate<String> database) {
+        if (ready && !mightContain(key)) {
+            skipped.increment();
+            return false;
+        }
+
+        probed.increment();
+        boolean found = database.test(value);
+        if (!found) {
+            falsePositives.increment();
+        }
+        return found;
+    }
+
+    private void add(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+        keys.increment();
+    }
+
+    private boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String isbnKey(String isbn) {
+        return "i:" + isbn.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String titleKey(String title) {
+        return "t:" + title.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // 64-bit FNV-1a followed by the murmur3 finalizer to spread the bits over both halves
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe53ec4ebL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,276 @@
+package com.lms.library_management_system.index;
+
+import com.lms.library_management_system.exception.SearchIndexNotReadyException;
+import com.lms.library_management_system.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Lucene index over book titles and authors. Only ids are stored, the rows themselves are read from the
+ * database, so copy counters never have to be reindexed. The index is rebuilt in the background on startup
+ * and kept current by the writes in the service layer once their transaction commits.
+ */
+@Slf4j
+@Component
+public class BookSearchIndex implements DisposableBean {
+
+    static final String ID = "id";
+    static final String TEXT = "text";
+
+    // Deep pages cost as much as collecting every hit before them
+    static final int MAX_WINDOW = 10_000;
+    private static final int MAX_TERMS = 16;
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Path path;
+    private final boolean temporary;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+    // Ids written by the service while a rebuild runs; the rebuild skips them so it never restores stale rows
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Object rebuildLock = new Object();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    @Autowired
+    public BookSearchIndex(BookRepository bookRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${library.search.index-path:}") String indexPath) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        try {
+            this.temporary = indexPath == null || indexPath.isBlank();
+            this.path = temporary ? Files.createTempDirectory("library-search-index") : Path.of(indexPath);
+            this.directory = FSDirectory.open(path);
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                    .setRAMBufferSizeMB(64));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        // Changes become searchable within a second without reopening the searcher on every write
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, 1.0, 0.1);
+        this.reopenThread.setName("search-index-reopen");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread thread = new Thread(this::rebuild, "search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void rebuild() {
+        long started = System.nanoTime();
+        touchedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<IndexedBook> books = bookRepository.streamIndexedBooks()) {
+                    books.forEach(book -> {
+                        synchronized (rebuildLock) {
+                            if (!touchedDuringRebuild.contains(book.id())) {
+                                write(book);
+                            }
+                        }
+                    });
+                }
+            });
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            log.info("Search index rebuilt with {} books in {} ms", writer.getDocStats().numDocs,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException ex) {
+            log.error("Search index rebuild failed", ex);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexes the book once the current transaction commits, or right away when there is none.
+     */
+    public void index(Long id, String title, String author) {
+        IndexedBook book = new IndexedBook(id, title, author, null);
+        afterCommit(id, () -> write(book));
+    }
+
+    public void remove(Long id) {
+        afterCommit(id, () -> {
+            try {
+                writer.deleteDocuments(new Term(ID, String.valueOf(id)));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    /**
+     * Returns the ids of one page of matches, best first by BM25. Every query term has to match the title
+     * or the author. Pages beyond {@link #MAX_WINDOW} hits are empty.
+     */
+    public SearchHits search(String query, int page, int size) {
+        if (!ready) {
+            throw new SearchIndexNotReadyException();
+        }
+
+        Query luceneQuery = parse(query);
+        // In long, as a large page times a large size overflows an int
+        long offset = (long) page * size;
+        if (luceneQuery == null || offset >= MAX_WINDOW) {
+            return new SearchHits(List.of(), 0);
+        }
+        int window = (int) Math.min(MAX_WINDOW, offset + size);
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(luceneQuery, window);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(size);
+                for (int i = (int) offset; i < top.scoreDocs.length; i++) {
+                    ids.add(Long.valueOf(storedFields.document(top.scoreDocs[i].doc, Set.of(ID)).get(ID)));
+                }
+                // Counting stops early on large result sets, so the total can be a lower bound
+                return new SearchHits(ids, top.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        analyzer.close();
+
+        if (temporary) {
+            try (Stream<Path> files = Files.walk(path)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Query parse(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        int terms = 0;
+        try (TokenStream tokens = analyzer.tokenStream(TEXT, query)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && terms < MAX_TERMS) {
+                // A pure conjunction lets Lucene skip blocks that cannot reach the top hits
+                builder.add(new TermQuery(new Term(TEXT, term.toString())), BooleanClause.Occur.MUST);
+                terms++;
+            }
+            tokens.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return terms == 0 ? null : builder.build();
+    }
+
+    private void write(IndexedBook book) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(book.id()), Field.Store.YES));
+        // Title and author share one field, so a multi-term query is a single conjunction
+        document.add(new TextField(TEXT, book.title() + "\n" + book.author(), Field.Store.NO));
+        try {
+            writer.updateDocument(new Term(ID, String.valueOf(book.id())), document);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void afterCommit(Long id, Runnable change) {
+        Runnable guarded = () -> {
+            if (rebuilding) {
+                synchronized (rebuildLock) {
+                    touchedDuringRebuild.add(id);
+                    change.run();
+                }
+            } else {
+                change.run();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    public record SearchHits(List<Long> ids, long total) {
+    }
+}
@@ -0,0 +1,218 @@
+package com.lms.library_management_system.index;
+
+import com.lms.library_management_system.dto.SuggestionDto;
+import com.lms.library_management_system.dto.SuggestionType;
+import com.lms.library_management_system.exception.SearchIndexNotReadyException;
+import com.lms.library_management_system.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Type-ahead over titles and authors, ranked by copy count. Titles weigh their book's total copies and
+ * authors the sum over their books. Loaded in the background on startup and kept current by the service
+ * layer once its transactions commit.
+ */
+@Slf4j
+@Component
+public class BookSuggestIndex {
+
+    static final int MAX_LIMIT = 50;
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Titles map to their book id; authors map to the number of books they have
+    private final WeightedRadixTrie titles = new WeightedRadixTrie();
+    private final WeightedRadixTrie authors = new WeightedRadixTrie();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    @Autowired
+    public BookSuggestIndex(BookRepository bookRepository, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread thread = new Thread(this::rebuild, "suggest-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void rebuild() {
+        long started = System.nanoTime();
+        touchedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<IndexedBook> books = bookRepository.streamIndexedBooks()) {
+                    books.forEach(book -> write(() -> {
+                        if (!touchedDuringRebuild.contains(book.id())) {
+                            addEntry(book.id(), book.title(), book.author(), book.totalCopies());
+                        }
+                    }));
+                }
+            });
+            ready = true;
+            log.info("Suggest index loaded {} titles and {} authors in {} ms", titles.size(), authors.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.error("Suggest index rebuild failed", ex);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void add(Long id, String title, String author, int copies) {
+        afterCommit(id, () -> addEntry(id, title, author, copies));
+    }
+
+    // The copy count comes from the saved book, so a book the startup load has not reached yet is still
+    // indexed with its real weight once the load skips it
+    public void update(Long id, String oldTitle, String oldAuthor, String title, String author, int copies) {
+        afterCommit(id, () -> {
+            removeEntry(id, oldTitle, oldAuthor);
+            addEntry(id, title, author, copies);
+        });
+    }
+
+    public void remove(Long id, String title, String author) {
+        afterCommit(id, () -> removeEntry(id, title, author));
+    }
+
+    // A delta cannot replace the row the startup load reads, so it leaves the book to the load. A copy added
+    // after the load read that book but before the load finished is missed until the book changes again.
+    public void addCopies(Long id, String title, String author, int delta) {
+        afterCommit(null, () -> {
+            WeightedRadixTrie.Match match = titles.get(key(title));
+            if (match == null || match.value() != id) {
+                return;
+            }
+            titles.put(key(title), match.text(), id, match.weight() + delta);
+            adjustAuthor(author, 0, delta);
+        });
+    }
+
+    /**
+     * Returns the titles and authors starting with {@code prefix}, most copies first.
+     */
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        if (!ready) {
+            throw new SearchIndexNotReadyException();
+        }
+
+        int k = Math.max(0, Math.min(limit, MAX_LIMIT));
+        String key = key(prefix == null ? "" : prefix);
+        List<SuggestionDto> suggestions = new ArrayList<>(2 * k);
+
+        lock.readLock().lock();
+        try {
+            for (WeightedRadixTrie.Match match : titles.top(key, k)) {
+                suggestions.add(new SuggestionDto(match.text(), SuggestionType.TITLE, match.value(), match.weight()));
+            }
+            for (WeightedRadixTrie.Match match : authors.top(key, k)) {
+                suggestions.add(new SuggestionDto(match.text(), SuggestionType.AUTHOR, null, match.weight()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        suggestions.sort(Comparator.comparing(SuggestionDto::getCopies).reversed());
+        return suggestions.size() > k ? new ArrayList<>(suggestions.subList(0, k)) : suggestions;
+    }
+
+    // Adding a book that is already indexed replaces its weight, so the startup load and a concurrent add agree
+    private void addEntry(Long id, String title, String author, Integer copies) {
+        int weight = copies != null ? copies : 0;
+        WeightedRadixTrie.Match existing = titles.get(key(title));
+        titles.put(key(title), title, id, weight);
+        if (existing != null && existing.value() == id) {
+            adjustAuthor(author, 0, weight - existing.weight());
+        } else {
+            adjustAuthor(author, 1, weight);
+        }
+    }
+
+    // Returns the copy count the title carried, or -1 when it was not indexed for this book
+    private int removeEntry(Long id, String title, String author) {
+        WeightedRadixTrie.Match match = titles.get(key(title));
+        if (match == null || match.value() != id) {
+            return -1;
+        }
+        titles.remove(key(title));
+        adjustAuthor(author, -1, -match.weight());
+        return match.weight();
+    }
+
+    private void adjustAuthor(String author, int books, int copies) {
+        String key = key(author);
+        WeightedRadixTrie.Match match = authors.get(key);
+        long count = (match != null ? match.value() : 0) + books;
+        if (count <= 0) {
+            authors.remove(key);
+        } else {
+            authors.put(key, match != null ? match.text() : author, count, (match != null ? match.weight() : 0) + copies);
+        }
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Books touched while the startup load runs keep what the service wrote; the load skips them
+    private void afterCommit(Long touchedId, Runnable change) {
+        Runnable guarded = () -> write(() -> {
+            if (rebuilding && touchedId != null) {
+                touchedDuringRebuild.add(touchedId);
+            }
+            change.run();
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    private static String key(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,7 @@
+package com.lms.library_management_system.index;
+
+/**
+ * The searchable fields of a book, read through a projection so rebuilds never load entities.
+ */
+public record IndexedBook(Long id, String title, String author, Integer totalCopies) {
+}
@@ -0,0 +1,275 @@
+package com.lms.library_management_system.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Radix trie from normalized keys to a display text, a value and a weight. Every node keeps the highest
+ * weight found below it, so the heaviest keys under a prefix are found best-first without visiting the
+ * rest of the subtree. Not thread-safe.
+ */
+final class WeightedRadixTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private final Node root = new Node(new char[0]);
+    private int size;
+
+    record Match(String text, long value, int weight) {
+    }
+
+    private static final class Node {
+        char[] label;
+        Node[] children = NO_CHILDREN;
+        // Non-null only on nodes that end a key
+        String text;
+        long value;
+        int weight;
+        int maxWeight = NONE;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        boolean terminal() {
+            return text != null;
+        }
+    }
+
+    private record Candidate(Node node, boolean emit, int weight, int depth) {
+    }
+
+    // Among equal weights, ready keys come first and then the deepest nodes, so ties are walked depth-first
+    // instead of opening every sibling whose subtree carries the same maximum
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingInt(Candidate::weight)
+            .thenComparing(Candidate::emit)
+            .thenComparingInt(Candidate::depth)
+            .reversed();
+
+    int size() {
+        return size;
+    }
+
+    Match get(String key) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            if (commonPrefix(child.label, key, i) < child.label.length) {
+                return null;
+            }
+            i += child.label.length;
+            node = child;
+        }
+        return node.terminal() ? new Match(node.text, node.value, node.weight) : null;
+    }
+
+    void put(String key, String text, long value, int weight) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i).toCharArray());
+                node.children = insert(node.children, -index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+
+            Node child = node.children[index];
+            int matched = commonPrefix(child.label, key, i);
+            if (matched < child.label.length) {
+                // The key leaves the edge halfway, so the edge is split at that point
+                Node middle = new Node(Arrays.copyOf(child.label, matched));
+                child.label = Arrays.copyOfRange(child.label, matched, child.label.length);
+                middle.children = new Node[]{child};
+                middle.maxWeight = child.maxWeight;
+                node.children[index] = middle;
+                child = middle;
+            }
+            i += matched;
+            node = child;
+            path.add(node);
+        }
+
+        if (!node.terminal()) {
+            size++;
+        }
+        node.text = text;
+        node.value = value;
+        node.weight = weight;
+        updateMaxWeights(path);
+    }
+
+    Match remove(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            if (commonPrefix(child.label, key, i) < child.label.length) {
+                return null;
+            }
+            i += child.label.length;
+            node = child;
+            path.add(node);
+        }
+        if (!node.terminal()) {
+            return null;
+        }
+
+        Match removed = new Match(node.text, node.value, node.weight);
+        node.text = null;
+        node.value = 0;
+        node.weight = 0;
+        size--;
+
+        // Drop nodes that no longer lead anywhere and fold single-child chains back into one edge
+        for (int p = path.size() - 1; p > 0; p--) {
+            Node current = path.get(p);
+            if (current.terminal()) {
+                break;
+            }
+            if (current.children.length == 0) {
+                Node parent = path.get(p - 1);
+                parent.children = without(parent.children, current);
+                continue;
+            }
+            if (current.children.length == 1) {
+                Node only = current.children[0];
+                char[] label = Arrays.copyOf(current.label, current.label.length + only.label.length);
+                System.arraycopy(only.label, 0, label, current.label.length, only.label.length);
+                current.label = label;
+                current.children = only.children;
+                current.text = only.text;
+                current.value = only.value;
+                current.weight = only.weight;
+                current.maxWeight = only.maxWeight;
+            }
+            break;
+        }
+        updateMaxWeights(path);
+        return removed;
+    }
+
+    /**
+     * Returns up to {@code limit} keys starting with {@code prefix}, heaviest first.
+     */
+    List<Match> top(String prefix, int limit) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = childIndex(node, prefix.charAt(i));
+            if (index < 0) {
+                return List.of();
+            }
+            Node child = node.children[index];
+            int matched = commonPrefix(child.label, prefix, i);
+            if (matched < child.label.length && i + matched < prefix.length()) {
+                return List.of();
+            }
+            i += matched;
+            node = child;
+        }
+
+        List<Match> matches = new ArrayList<>(limit);
+        if (node.maxWeight == NONE || limit <= 0) {
+            return matches;
+        }
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+        queue.add(new Candidate(node, false, node.maxWeight, 0));
+        while (!queue.isEmpty() && matches.size() < limit) {
+            Candidate candidate = queue.poll();
+            Node current = candidate.node();
+            if (candidate.emit()) {
+                matches.add(new Match(current.text, current.value, current.weight));
+                continue;
+            }
+            if (current.terminal()) {
+                queue.add(new Candidate(current, true, current.weight, candidate.depth()));
+            }
+            for (Node child : current.children) {
+                queue.add(new Candidate(child, false, child.maxWeight, candidate.depth() + 1));
+            }
+        }
+        return matches;
+    }
+
+    private static void updateMaxWeights(List<Node> path) {
+        for (int p = path.size() - 1; p >= 0; p--) {
+            Node node = path.get(p);
+            int max = node.terminal() ? node.weight : NONE;
+            for (Node child : node.children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            node.maxWeight = max;
+        }
+    }
+
+    private static int commonPrefix(char[] label, String key, int offset) {
+        int limit = Math.min(label.length, key.length() - offset);
+        int i = 0;
+        while (i < limit && label[i] == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // Children are kept sorted by the first character of their label
+    private static int childIndex(Node node, char first) {
+        Node[] children = node.children;
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char c = children[mid].label[0];
+            if (c < first) {
+                low = mid + 1;
+            } else if (c > first) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static Node[] insert(Node[] children, int index, Node child) {
+        Node[] result = new Node[children.length + 1];
+        System.arraycopy(children, 0, result, 0, index);
+        result[index] = child;
+        System.arraycopy(children, index, result, index + 1, children.length - index);
+        return result;
+    }
+
+    private static Node[] without(Node[] children, Node child) {
+        if (children.length == 1) {
+            return NO_CHILDREN;
+        }
+        Node[] result = new Node[children.length - 1];
+        int j = 0;
+        for (Node existing : children) {
+            if (existing != child) {
+                result[j++] = existing;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package com.lms.library_management_system.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Low-cardinality tag values for request-scoped meters. The endpoint is the matched route template,
+ * such as {@code /api/books/{id}}, never the raw URI.
+ */
+public final class RequestTags {
+
+    static final String UNKNOWN = "UNKNOWN";
+
+    private RequestTags() {
+    }
+
+    public static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : UNKNOWN;
+    }
+
+    public static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                ? endpoint(servletAttributes.getRequest())
+                : UNKNOWN;
+    }
+}
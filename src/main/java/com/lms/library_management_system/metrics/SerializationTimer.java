@@ -0,0 +1,33 @@
+package com.lms.library_management_system.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+
+/**
+ * Times writing a response body with the format it was negotiated in, so the wire formats can be compared
+ * per endpoint.
+ */
+final class SerializationTimer {
+
+    interface Write {
+        void run() throws IOException;
+    }
+
+    private SerializationTimer() {
+    }
+
+    static void time(MeterRegistry meterRegistry, String format, Write write) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            write.run();
+        } finally {
+            sample.stop(Timer.builder("library.http.serialization")
+                    .description("Time spent writing response bodies")
+                    .tag("endpoint", RequestTags.currentEndpoint())
+                    .tag("format", format)
+                    .register(meterRegistry));
+        }
+    }
+}
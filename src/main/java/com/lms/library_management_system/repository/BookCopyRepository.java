@@ -1,11 +1,59 @@
 package com.lms.library_management_system.repository;
 
+import com.lms.library_management_system.dto.BookCopyDto;
 import com.lms.library_management_system.entity.BookCopy;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookCopyRepository extends JpaRepository<BookCopy, Long> {
+public interface BookCopyRepository extends JpaRepository<BookCopy, Long>, BookCopyStateRepository {
     List<BookCopy> findByBookId(Long bookId);
     long countByBookIdAndAvailableTrue(Long bookId);
+
+    // The listings order by the leading index columns too, which are fixed by the where clause: H2 only reads an
+    // index in order when the order by starts with its first column, and otherwise sorts every copy of the book
+    @Query("select new com.lms.library_management_system.dto.BookCopyDto(c.id, c.available) " +
+            "from BookCopy c where c.book.id = :bookId order by c.book.id, c.id")
+    List<BookCopyDto> findCopyDtosByBookId(@Param("bookId") Long bookId);
+
+    @Query("select new com.lms.library_management_system.dto.BookCopyDto(c.id, c.available) " +
+            "from BookCopy c where c.book.id = :bookId and c.available = :available order by c.book.id, c.available, c.id")
+    List<BookCopyDto> findCopyDtosByBookIdAndAvailable(@Param("bookId") Long bookId, @Param("available") boolean available);
+
+    // The id bound changes no result; without it H2 picks the foreign key index on book_id and sorts
+    @Query(value = "select new com.lms.library_management_system.dto.BookCopyDto(c.id, c.available) " +
+            "from BookCopy c where c.book.id = :bookId and c.id > 0 order by c.book.id, c.id",
+            countQuery = "select count(c) from BookCopy c where c.book.id = :bookId")
+    Page<BookCopyDto> findCopyDtosByBookId(@Param("bookId") Long bookId, Pageable pageable);
+
+    @Query(value = "select new com.lms.library_management_system.dto.BookCopyDto(c.id, c.available) " +
+            "from BookCopy c where c.book.id = :bookId and c.available = :available order by c.book.id, c.available, c.id",
+            countQuery = "select count(c) from BookCopy c where c.book.id = :bookId and c.available = :available")
+    Page<BookCopyDto> findCopyDtosByBookIdAndAvailable(@Param("bookId") Long bookId, @Param("available") boolean available,
+                                                       Pageable pageable);
+
+    @Query("select new com.lms.library_management_system.dto.BookCopyDto(c.id, c.available) " +
+            "from BookCopy c where c.book.id = :bookId and c.id > :afterId order by c.book.id, c.id")
+    List<BookCopyDto> findCopyDtosByBookIdAfter(@Param("bookId") Long bookId, @Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new com.lms.library_management_system.dto.BookCopyDto(c.id, c.available) " +
+            "from BookCopy c where c.book.id = :bookId and c.available = :available and c.id > :afterId " +
+            "order by c.book.id, c.available, c.id")
+    List<BookCopyDto> findCopyDtosByBookIdAndAvailableAfter(@Param("bookId") Long bookId, @Param("available") boolean available,
+                                                            @Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new com.lms.library_management_system.repository.BookCopyStateRepository$CopyState(c.id, c.book.id, c.available) " +
+            "from BookCopy c where c.book.id in :bookIds order by c.id")
+    List<CopyState> findStatesByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+
+    // Joins the book so that copies of deleted books are not found
+    @Query("select b.id from BookCopy c join c.book b where c.id = :id")
+    Optional<Long> findBookIdById(@Param("id") Long id);
 }
@@ -0,0 +1,14 @@
+package com.lms.library_management_system.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BookCopyStateRepository {
+    int updateAvailability(Long bookId, Long copyId, boolean from, boolean to);
+
+    List<CopyState> lockStates(Collection<Long> copyIds);
+    int updateAvailability(Collection<Long> copyIds, boolean to);
+
+    record CopyState(Long id, Long bookId, boolean available) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.entity.BookCopy;
+import com.lms.library_management_system.util.InChunks;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compare-and-set on a copy's availability. The copy only changes if it belongs to the book and is still in
+ * the expected state, so of two concurrent checkouts exactly one sees an updated row. Like the counter
+ * updates it evicts only the touched copies from the second-level cache.
+ * The batch variants split their id lists with {@link InChunks} to keep the IN lists bounded.
+ */
+public class BookCopyStateRepositoryImpl implements BookCopyStateRepository {
+
+    // Copies of soft-deleted books can no longer change
+    private static final String LIVE_BOOK = "and exists (select 1 from books b where b.id = book_copies.book_id and b.deleted_at is null)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateAvailability(Long bookId, Long copyId, boolean from, boolean to) {
+        int updated = NativeUpdates.update(entityManager, "update book_copies set available = :to, version = version + 1 "
+                        + "where id = :copyId and book_id = :bookId and available = :from " + LIVE_BOOK)
+                .setParameter("to", to)
+                .setParameter("copyId", copyId)
+                .setParameter("bookId", bookId)
+                .setParameter("from", from)
+                .executeUpdate();
+        if (updated > 0) {
+            evict(List.of(copyId));
+        }
+        return updated;
+    }
+
+    // Row locks are held until the transaction ends, so the states stay valid for a following batch update
+    @Override
+    public List<CopyState> lockStates(Collection<Long> copyIds) {
+        List<CopyState> states = new ArrayList<>(copyIds.size());
+        for (List<Long> chunk : InChunks.of(copyIds)) {
+            List<?> rows = entityManager.createNativeQuery("select id, book_id, available from book_copies "
+                            + "where id in (:ids) " + LIVE_BOOK + " for update")
+                    .setParameter("ids", chunk)
+                    .getResultList();
+            for (Object row : rows) {
+                Object[] columns = (Object[]) row;
+                states.add(new CopyState(((Number) columns[0]).longValue(), ((Number) columns[1]).longValue(),
+                        (Boolean) columns[2]));
+            }
+        }
+        return states;
+    }
+
+    @Override
+    public int updateAvailability(Collection<Long> copyIds, boolean to) {
+        int updated = 0;
+        for (List<Long> chunk : InChunks.of(copyIds)) {
+            updated += NativeUpdates.update(entityManager, "update book_copies set available = :to, version = version + 1 "
+                            + "where id in (:ids) and available = :from")
+                    .setParameter("to", to)
+                    .setParameter("ids", chunk)
+                    .setParameter("from", !to)
+                    .executeUpdate();
+        }
+        evict(copyIds);
+        return updated;
+    }
+
+    private void evict(Collection<Long> copyIds) {
+        NativeUpdates.evict(entityManager, cache -> copyIds.forEach(copyId -> cache.evict(BookCopy.class, copyId)));
+    }
+}
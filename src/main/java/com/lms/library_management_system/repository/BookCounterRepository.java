@@ -0,0 +1,9 @@
+package com.lms.library_management_system.repository;
+
+import java.util.Collection;
+
+public interface BookCounterRepository {
+    int incrementCopyCounters(Long id);
+    int adjustAvailableCopies(Long id, int delta);
+    int recountAvailableCopies(Collection<Long> ids);
+}
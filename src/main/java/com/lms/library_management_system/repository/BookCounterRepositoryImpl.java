@@ -0,0 +1,59 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.entity.Book;
+import com.lms.library_management_system.util.InChunks;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Atomic counter updates on {@code books} that evict only the touched book from the second-level cache.
+ * A JPQL bulk update would make Hibernate drop the whole Book region on every copy change.
+ * Each update also bumps the book version, which serves as the version of its copy collection.
+ */
+public class BookCounterRepositoryImpl implements BookCounterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int incrementCopyCounters(Long id) {
+        int updated = NativeUpdates.update(entityManager, "update books set total_copies = total_copies + 1, "
+                + "available_copies = available_copies + 1, version = version + 1 where id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        evict(id);
+        return updated;
+    }
+
+    @Override
+    public int adjustAvailableCopies(Long id, int delta) {
+        int updated = NativeUpdates.update(entityManager, "update books set available_copies = available_copies + :delta, "
+                + "version = version + 1 where id = :id")
+                .setParameter("delta", delta)
+                .setParameter("id", id)
+                .executeUpdate();
+        evict(id);
+        return updated;
+    }
+
+    // Recomputes the counters from the copies in one statement per chunk of books, for batch changes
+    @Override
+    public int recountAvailableCopies(Collection<Long> ids) {
+        int updated = 0;
+        for (List<Long> chunk : InChunks.of(ids)) {
+            updated += NativeUpdates.update(entityManager, "update books b set available_copies = (select count(*) from book_copies c "
+                    + "where c.book_id = b.id and c.available), version = version + 1 where b.id in (:ids)")
+                    .setParameter("ids", chunk)
+                    .executeUpdate();
+        }
+        ids.forEach(this::evict);
+        return updated;
+    }
+
+    private void evict(Long id) {
+        NativeUpdates.evict(entityManager, cache -> cache.evict(Book.class, id));
+    }
+}
@@ -0,0 +1,15 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.dto.BookDto;
+import com.lms.library_management_system.entity.Book;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface BookQueryRepository {
+    Page<BookDto> findBookDtos(Specification<Book> spec, Pageable pageable);
+    Stream<BookDto> streamBookDtos(Specification<Book> spec, Pageable pageable);
+    long countBookDtos(Specification<Book> spec);
+}
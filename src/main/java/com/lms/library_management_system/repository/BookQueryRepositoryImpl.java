@@ -0,0 +1,77 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.dto.BookDto;
+import com.lms.library_management_system.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+/**
+ * Specification queries that select straight into {@link BookDto}. {@code JpaSpecificationExecutor} would
+ * load and map whole entities for every row of the page.
+ */
+public class BookQueryRepositoryImpl implements BookQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<BookDto> findBookDtos(Specification<Book> spec, Pageable pageable) {
+        List<BookDto> content = query(spec, pageable).getResultList();
+
+        // The count only runs when the page alone cannot tell the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> countBookDtos(spec));
+    }
+
+    @Override
+    public Stream<BookDto> streamBookDtos(Specification<Book> spec, Pageable pageable) {
+        return query(spec, pageable)
+                .setHint(HINT_FETCH_SIZE, 1000)
+                .getResultStream();
+    }
+
+    private TypedQuery<BookDto> query(Specification<Book> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<BookDto> query = cb.createQuery(BookDto.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(cb.construct(BookDto.class, root.get("id"), root.get("title"), root.get("author"),
+                root.get("isbn"), root.get("publishedYear"), root.get("availableCopies"), root.get("totalCopies")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+    }
+
+    @Override
+    public long countBookDtos(Specification<Book> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,12 +1,84 @@
 package com.lms.library_management_system.repository;
 
+import com.lms.library_management_system.dto.BookDto;
 import com.lms.library_management_system.entity.Book;
+import com.lms.library_management_system.index.IndexedBook;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface BookRepository extends JpaRepository<Book, Long>, BookCounterRepository, BookQueryRepository,
+        BookTombstoneRepository {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Book> findByIsbn(String isbn);
-    boolean existsByIsbn(String isbn);
-    boolean existsByTitle(String title);
+
+    // The key checks are native so they include tombstones, whose title and ISBN stay taken until purged
+    @Query(value = "select count(*) > 0 from books where isbn = :isbn", nativeQuery = true)
+    boolean existsByIsbn(@Param("isbn") String isbn);
+
+    @Query(value = "select count(*) > 0 from books where title = :title", nativeQuery = true)
+    boolean existsByTitle(@Param("title") String title);
+
+    @Query(value = "select isbn from books where isbn in :isbns", nativeQuery = true)
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    @Query(value = "select title from books where title in :titles", nativeQuery = true)
+    List<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+    @Query("select b.version from Book b where b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "copies")
+    Optional<Book> findWithCopiesById(Long id);
+
+    @Query(value = "select new com.lms.library_management_system.dto.BookDto(b.id, b.title, b.author, b.isbn, " +
+            "b.publishedYear, b.availableCopies, b.totalCopies) from Book b",
+            countQuery = "select count(b) from Book b")
+    Page<BookDto> findAllBookDtos(Pageable pageable);
+
+    @Query("select new com.lms.library_management_system.dto.BookDto(b.id, b.title, b.author, b.isbn, " +
+            "b.publishedYear, b.availableCopies, b.totalCopies) from Book b where b.id > :afterId order by b.id")
+    List<BookDto> findBookDtosAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new com.lms.library_management_system.dto.BookDto(b.id, b.title, b.author, b.isbn, " +
+            "b.publishedYear, b.availableCopies, b.totalCopies) from Book b where b.id in :ids")
+    List<BookDto> findBookDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.lms.library_management_system.dto.BookDto(b.id, b.title, b.author, b.isbn, " +
+            "b.publishedYear, b.availableCopies, b.totalCopies) from Book b where b.isbn in :isbns")
+    List<BookDto> findBookDtosByIsbnIn(@Param("isbns") Collection<String> isbns);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from Book b order by b.id")
+    Stream<Book> streamAllOrderedById();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.lms.library_management_system.index.IndexedBook(b.id, b.title, b.author, b.totalCopies) from Book b")
+    Stream<IndexedBook> streamIndexedBooks();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "select isbn from books", nativeQuery = true)
+    Stream<String> streamAllIsbns();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "select title from books", nativeQuery = true)
+    Stream<String> streamAllTitles();
 }
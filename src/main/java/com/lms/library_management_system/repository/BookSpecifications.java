@@ -0,0 +1,43 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.dto.BookFilterDto;
+import com.lms.library_management_system.entity.Book;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filters for the book listing. Every filter has an index on {@code books} behind it.
+ */
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    public static Specification<Book> matching(BookFilterDto filter) {
+        List<Specification<Book>> specs = new ArrayList<>(3);
+        if (filter.getAuthor() != null && !filter.getAuthor().isBlank()) {
+            specs.add(hasAuthor(filter.getAuthor()));
+        }
+        if (filter.getYearFrom() != null) {
+            specs.add(publishedFrom(filter.getYearFrom()));
+        }
+        if (filter.getYearTo() != null) {
+            specs.add(publishedTo(filter.getYearTo()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Book> hasAuthor(String author) {
+        return (root, query, cb) -> cb.equal(root.get("author"), author);
+    }
+
+    public static Specification<Book> publishedFrom(int year) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("publishedYear"), year);
+    }
+
+    public static Specification<Book> publishedTo(int year) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("publishedYear"), year);
+    }
+}
@@ -0,0 +1,12 @@
+package com.lms.library_management_system.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookTombstoneRepository {
+    int markDeleted(Long id, LocalDateTime deletedAt);
+    List<Long> findDeletedIds(int limit);
+    int deleteCopiesOfBooks(Collection<Long> ids);
+    int deleteTombstones(Collection<Long> ids);
+}
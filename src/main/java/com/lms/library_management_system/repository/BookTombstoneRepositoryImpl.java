@@ -0,0 +1,76 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Cache;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Soft delete of books and the bulk removal behind it. Marking a book deleted updates its row and queues it in
+ * {@code book_tombstones}, however many copies it has; {@code BookPurger} later deletes the copies and books of a
+ * batch of tombstones at a time. The native statements bypass the entity restriction on deleted books.
+ */
+public class BookTombstoneRepositoryImpl implements BookTombstoneRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int markDeleted(Long id, LocalDateTime deletedAt) {
+        int updated = NativeUpdates.update(entityManager, "update books set deleted_at = :deletedAt, version = version + 1 "
+                + "where id = :id and deleted_at is null")
+                .setParameter("deletedAt", deletedAt)
+                .setParameter("id", id)
+                .executeUpdate();
+        if (updated > 0) {
+            NativeUpdates.update(entityManager, "insert into book_tombstones (book_id, deleted_at) values (:id, :deletedAt)")
+                    .setParameter("id", id)
+                    .setParameter("deletedAt", deletedAt)
+                    .executeUpdate();
+        }
+        evict(id);
+        return updated;
+    }
+
+    @Override
+    public List<Long> findDeletedIds(int limit) {
+        List<?> ids = entityManager.createNativeQuery("select book_id from book_tombstones "
+                        + "order by deleted_at fetch first :limit rows only")
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+
+    // Copies of purged books are only reachable through their book, so their cache entries are left to expire
+    @Override
+    public int deleteCopiesOfBooks(Collection<Long> ids) {
+        return NativeUpdates.update(entityManager, "delete from book_copies where book_id in (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    @Override
+    public int deleteTombstones(Collection<Long> ids) {
+        int deleted = NativeUpdates.update(entityManager, "delete from books where id in (:ids) and deleted_at is not null")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        NativeUpdates.update(entityManager, "delete from book_tombstones where book_id in (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        ids.forEach(id -> entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class)
+                .evictCollectionData(Book.class.getName() + ".copies", id));
+        return deleted;
+    }
+
+    private void evict(Long id) {
+        NativeUpdates.evict(entityManager, cache -> {
+            cache.evict(Book.class, id);
+            // Cached query results may still list the book, as an entity delete would have invalidated them too
+            cache.evictDefaultQueryRegion();
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.lms.library_management_system.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Cache;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Native updates that keep the second-level cache coherent by evicting only the rows they touch. Without a
+ * declared query space Hibernate would drop every cache region after each of them.
+ */
+final class NativeUpdates {
+
+    // Not a real table, so no cached query depends on it
+    private static final String QUERY_SPACE = "native_updates";
+
+    private NativeUpdates() {
+    }
+
+    static NativeQuery<?> update(EntityManager entityManager, String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE);
+    }
+
+    /**
+     * Applies the eviction now and, as a concurrent reader may cache the pre-commit row in the meantime, again
+     * once the transaction has completed and the change is visible.
+     */
+    static void evict(EntityManager entityManager, Consumer<Cache> eviction) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        eviction.accept(cache);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.accept(cache);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.dto.BookCopyDto;
+import com.lms.library_management_system.dto.BookDetailsDto;
+import com.lms.library_management_system.dto.BookDto;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of books and copies over R2DBC for the reactive read API. The pool opens the same
+ * H2 database as the JDBC DataSource. It is not a bean of its own, because a ConnectionFactory bean
+ * would switch off the DataSource auto-configuration that JPA runs on.
+ */
+@Repository
+public class ReactiveBookRepository implements DisposableBean {
+
+    private static final String H2_URL_PREFIX = "jdbc:h2:";
+    private static final String BOOK_COLUMNS = "id, title, author, isbn, published_year, available_copies, total_copies";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+
+    @Autowired
+    public ReactiveBookRepository(DataSourceProperties dataSourceProperties,
+                                  @Value("${library.reactive.pool-size:16}") int poolSize) {
+        // The same URL as the DataSource, whether configured or generated for the embedded database
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith(H2_URL_PREFIX)) {
+            throw new IllegalStateException("The reactive read API needs an H2 database, but the datasource URL is " + url);
+        }
+        H2ConnectionConfiguration configuration = H2ConnectionConfiguration.builder()
+                .url(url.substring(H2_URL_PREFIX.length()))
+                .username(dataSourceProperties.determineUsername())
+                .password(dataSourceProperties.determinePassword())
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(new H2ConnectionFactory(configuration))
+                .initialSize(0)
+                .maxSize(poolSize)
+                .build());
+        this.client = DatabaseClient.create(pool);
+    }
+
+    public Flux<BookDto> findBooks(long offset, int limit) {
+        return client.sql("select " + BOOK_COLUMNS + " from books where deleted_at is null order by id offset :offset rows fetch next :limit rows only")
+                .bind("offset", offset)
+                .bind("limit", limit)
+                .map(ReactiveBookRepository::toBookDto)
+                .all();
+    }
+
+    public Mono<BookDetailsDto> findBookDetails(Long id) {
+        return client.sql("select " + BOOK_COLUMNS + " from books where id = :id and deleted_at is null")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toBookDto)
+                .one()
+                .flatMap(book -> findCopies(id).collectList().map(copies -> BookDetailsDto.builder()
+                        .id(book.getId())
+                        .title(book.getTitle())
+                        .author(book.getAuthor())
+                        .isbn(book.getIsbn())
+                        .publishedYear(book.getPublishedYear())
+                        .copies(copies)
+                        .build()));
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return client.sql("select count(*) from books where id = :id and deleted_at is null")
+                .bind("id", id)
+                .map(row -> row.get(0, Long.class) > 0)
+                .one();
+    }
+
+    public Flux<BookCopyDto> findCopies(Long bookId) {
+        return client.sql("select id, available from book_copies where book_id = :bookId order by id")
+                .bind("bookId", bookId)
+                .map(row -> new BookCopyDto(row.get("id", Long.class), row.get("available", Boolean.class)))
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private static BookDto toBookDto(Readable row) {
+        return new BookDto(row.get("id", Long.class), row.get("title", String.class), row.get("author", String.class),
+                row.get("isbn", String.class), row.get("published_year", Integer.class),
+                row.get("available_copies", Integer.class), row.get("total_copies", Integer.class));
+    }
+}
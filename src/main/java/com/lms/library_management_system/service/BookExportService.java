@@ -0,0 +1,10 @@
+package com.lms.library_management_system.service;
+
+import com.lms.library_management_system.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    void exportBooks(ExportFormat format, boolean includeCopies, OutputStream out) throws IOException;
+}
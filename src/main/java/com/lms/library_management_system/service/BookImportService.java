@@ -0,0 +1,9 @@
+package com.lms.library_management_system.service;
+
+import com.lms.library_management_system.dto.BulkImportResultDto;
+
+import java.io.InputStream;
+
+public interface BookImportService {
+    BulkImportResultDto importBooks(InputStream body);
+}
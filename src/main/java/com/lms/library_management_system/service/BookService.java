@@ -4,16 +4,28 @@ import com.lms.library_management_system.dto.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
 import java.util.List;
 
 public interface BookService {
-    Page<BookDto> getAllBooks(Pageable pageable);
+    Page<BookDto> getAllBooks(BookFilterDto filter, Pageable pageable);
+    long writeAllBooks(BookFilterDto filter, Pageable pageable, StreamedPageDto.ItemWriter<BookDto> writer) throws IOException;
+    CursorPageDto<BookDto> getBooksAfter(String cursor, int size);
+    Page<BookDto> searchBooks(String query, Pageable pageable);
+    List<SuggestionDto> suggestBooks(String prefix, int limit);
     BookDto createBook(BookCreateDto dto);
     BookDetailsDto getBookById(Long id);
+    BookLookupResultDto lookupBooks(BookLookupDto dto);
+    long getBookVersion(Long id);
     BookDto updateBook(Long id, BookUpdateDto dto);
     void deleteBook(Long id);
 
-    List<BookCopyDto> getCopiesByBookId(Long id);
+    List<BookCopyDto> getCopiesByBookId(Long id, Boolean available);
+    Page<BookCopyDto> getCopiesByBookId(Long id, Boolean available, Pageable pageable);
+    CursorPageDto<BookCopyDto> getCopiesAfter(Long id, Boolean available, String cursor, int size);
     BookCopyDto addCopyToBook(Long bookId);
     BookCopyDto updateCopyAvailability(Long bookId, Long copyId, BookCopyUpdateDto dto);
+    BookCopyDto checkoutCopy(Long bookId, Long copyId);
+    BookCopyDto returnCopy(Long bookId, Long copyId);
+    CopyAvailabilityResultDto updateCopiesAvailability(List<CopyAvailabilityUpdateDto> updates);
 }
@@ -0,0 +1,133 @@
+package com.lms.library_management_system.service.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.library_management_system.dto.ExportFormat;
+import com.lms.library_management_system.entity.Book;
+import com.lms.library_management_system.repository.BookRepository;
+import com.lms.library_management_system.service.BookExportService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class BookExportServiceImpl implements BookExportService {
+
+    // Detaching in batches keeps the persistence context, and the heap, flat for any catalogue size
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BookExportServiceImpl(BookRepository bookRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBooks(ExportFormat format, boolean includeCopies, OutputStream out) throws IOException {
+        try (Stream<Book> books = bookRepository.streamAllOrderedById()) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(books.iterator(), includeCopies, out);
+            } else {
+                writeNdjson(books.iterator(), includeCopies, out);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<Book> books, boolean includeCopies, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(nonClosing(out), JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            int written = 0;
+            while (books.hasNext()) {
+                Book book = books.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", book.getId());
+                generator.writeStringField("title", book.getTitle());
+                generator.writeStringField("author", book.getAuthor());
+                generator.writeStringField("isbn", book.getIsbn());
+                generator.writeNumberField("publishedYear", book.getPublishedYear());
+                if (includeCopies) {
+                    generator.writeNumberField("availableCopies", book.getAvailableCopies());
+                    generator.writeNumberField("totalCopies", book.getTotalCopies());
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+
+                if (++written % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<Book> books, boolean includeCopies, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(nonClosing(out), StandardCharsets.UTF_8));
+        writer.write(includeCopies
+                ? "id,title,author,isbn,publishedYear,availableCopies,totalCopies\n"
+                : "id,title,author,isbn,publishedYear\n");
+
+        int written = 0;
+        while (books.hasNext()) {
+            Book book = books.next();
+            writer.write(String.valueOf(book.getId()));
+            writer.write(',');
+            writer.write(csv(book.getTitle()));
+            writer.write(',');
+            writer.write(csv(book.getAuthor()));
+            writer.write(',');
+            writer.write(csv(book.getIsbn()));
+            writer.write(',');
+            writer.write(String.valueOf(book.getPublishedYear()));
+            if (includeCopies) {
+                writer.write(',');
+                writer.write(String.valueOf(book.getAvailableCopies()));
+                writer.write(',');
+                writer.write(String.valueOf(book.getTotalCopies()));
+            }
+            writer.write('\n');
+
+            if (++written % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private OutputStream nonClosing(OutputStream out) {
+        // The servlet container owns the response stream, the writers must only flush it
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,212 @@
+package com.lms.library_management_system.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.lms.library_management_system.dto.BookCreateDto;
+import com.lms.library_management_system.dto.BulkImportResultDto;
+import com.lms.library_management_system.dto.BulkImportRowDto;
+import com.lms.library_management_system.dto.BulkImportStatus;
+import com.lms.library_management_system.entity.Book;
+import com.lms.library_management_system.index.BookKeyFilter;
+import com.lms.library_management_system.index.BookSearchIndex;
+import com.lms.library_management_system.index.BookSuggestIndex;
+import com.lms.library_management_system.repository.BookRepository;
+import com.lms.library_management_system.service.BookImportService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class BookImportServiceImpl implements BookImportService {
+
+    private final BookRepository bookRepository;
+    private final BookKeyFilter bookKeyFilter;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestIndex bookSuggestIndex;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectReader reader;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public BookImportServiceImpl(BookRepository bookRepository,
+                                 BookKeyFilter bookKeyFilter,
+                                 BookSearchIndex bookSearchIndex,
+                                 BookSuggestIndex bookSuggestIndex,
+                                 EntityManager entityManager,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${library.import.chunk-size:500}") int chunkSize) {
+        this.bookRepository = bookRepository;
+        this.bookKeyFilter = bookKeyFilter;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookSuggestIndex = bookSuggestIndex;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.reader = objectMapper.readerFor(BookCreateDto.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkImportResultDto importBooks(InputStream body) {
+        List<BulkImportRowDto> rows = new ArrayList<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        int received = 0;
+
+        // readValues iterates the elements of a top-level JSON array as well as newline-delimited values
+        try (MappingIterator<BookCreateDto> values = reader.readValues(body)) {
+            while (values.hasNextValue()) {
+                BookCreateDto dto = values.nextValue();
+                received++;
+                chunk.add(new PendingRow(received, dto));
+
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, rows);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            rows.add(BulkImportRowDto.builder()
+                    .row(received + 1)
+                    .status(BulkImportStatus.INVALID)
+                    .message("Malformed input, import stopped: " + ex.getOriginalMessage())
+                    .build());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, rows);
+        }
+
+        rows.sort(Comparator.comparingInt(BulkImportRowDto::getRow));
+
+        int created = (int) rows.stream().filter(row -> row.getStatus() == BulkImportStatus.CREATED).count();
+        return BulkImportResultDto.builder()
+                .received(received)
+                .created(created)
+                .rejected(rows.size() - created)
+                .rows(rows)
+                .build();
+    }
+
+    private void importChunk(List<PendingRow> chunk, List<BulkImportRowDto> rows) {
+        List<PendingRow> valid = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            String violation = validate(pending.dto());
+            if (violation != null) {
+                rows.add(rejected(pending, BulkImportStatus.INVALID, violation));
+            } else {
+                valid.add(pending);
+            }
+        }
+
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> existingIsbns = new HashSet<>(bookRepository.findExistingIsbns(
+                valid.stream().map(pending -> pending.dto().getIsbn()).collect(Collectors.toSet())));
+        Set<String> existingTitles = new HashSet<>(bookRepository.findExistingTitles(
+                valid.stream().map(pending -> pending.dto().getTitle()).collect(Collectors.toSet())));
+
+        List<PendingRow> accepted = new ArrayList<>(valid.size());
+        for (PendingRow pending : valid) {
+            // The sets grow as rows are accepted, so duplicates within the chunk are caught too
+            if (existingIsbns.contains(pending.dto().getIsbn()) || existingTitles.contains(pending.dto().getTitle())) {
+                rows.add(rejected(pending, BulkImportStatus.DUPLICATE, "Book with same title or ISBN already exists."));
+            } else {
+                existingIsbns.add(pending.dto().getIsbn());
+                existingTitles.add(pending.dto().getTitle());
+                accepted.add(pending);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            rows.addAll(transactionTemplate.execute(status -> insert(accepted)));
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent writer took one of the keys; fall back to one transaction per row
+            for (PendingRow pending : accepted) {
+                try {
+                    rows.addAll(transactionTemplate.execute(status -> insert(List.of(pending))));
+                } catch (DataIntegrityViolationException rowEx) {
+                    rows.add(rejected(pending, BulkImportStatus.DUPLICATE, "Book with same title or ISBN already exists."));
+                }
+            }
+        }
+    }
+
+    private List<BulkImportRowDto> insert(List<PendingRow> accepted) {
+        List<Book> books = accepted.stream()
+                .map(pending -> Book.builder()
+                        .title(pending.dto().getTitle())
+                        .author(pending.dto().getAuthor())
+                        .isbn(pending.dto().getIsbn())
+                        .publishedYear(pending.dto().getPublishedYear())
+                        .build())
+                .collect(Collectors.toList());
+
+        // Flushed through the repository so a key clash comes back as a DataIntegrityViolationException
+        bookRepository.saveAllAndFlush(books);
+        entityManager.clear();
+
+        List<BulkImportRowDto> created = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            bookKeyFilter.addIsbn(books.get(i).getIsbn());
+            bookKeyFilter.addTitle(books.get(i).getTitle());
+            bookSearchIndex.index(books.get(i).getId(), books.get(i).getTitle(), books.get(i).getAuthor());
+            bookSuggestIndex.add(books.get(i).getId(), books.get(i).getTitle(), books.get(i).getAuthor(), 0);
+            created.add(BulkImportRowDto.builder()
+                    .row(accepted.get(i).row())
+                    .isbn(books.get(i).getIsbn())
+                    .status(BulkImportStatus.CREATED)
+                    .id(books.get(i).getId())
+                    .build());
+        }
+        return created;
+    }
+
+    private String validate(BookCreateDto dto) {
+        if (dto == null) {
+            return "Row is empty";
+        }
+
+        return validator.validate(dto).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private BulkImportRowDto rejected(PendingRow pending, BulkImportStatus status, String message) {
+        return BulkImportRowDto.builder()
+                .row(pending.row())
+                .isbn(pending.dto() != null ? pending.dto().getIsbn() : null)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private record PendingRow(int row, BookCreateDto dto) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.lms.library_management_system.service.impl;
+
+import com.lms.library_management_system.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Removes soft-deleted books in the background. Each run takes up to {@code library.purge.batch-size}
+ * tombstones, oldest first, and deletes their copies and then the books with one statement each, in a
+ * transaction of its own. The rate is bounded by the batch size and {@code library.purge.interval}.
+ */
+@Slf4j
+@Component
+public class BookPurger {
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public BookPurger(BookRepository bookRepository,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${library.purge.batch-size:200}") int batchSize) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${library.purge.interval:PT1S}", initialDelayString = "${library.purge.interval:PT1S}")
+    public void scheduledPurge() {
+        purge();
+    }
+
+    // Returns the number of books removed
+    public int purge() {
+        Integer purged = transactionTemplate.execute(status -> {
+            List<Long> ids = bookRepository.findDeletedIds(batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            int copies = bookRepository.deleteCopiesOfBooks(ids);
+            int books = bookRepository.deleteTombstones(ids);
+            log.debug("Purged {} deleted books with {} copies", books, copies);
+            return books;
+        });
+        return purged == null ? 0 : purged;
+    }
+}
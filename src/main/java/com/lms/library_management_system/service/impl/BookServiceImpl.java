@@ -1,45 +1,146 @@
 package com.lms.library_management_system.service.impl;
 
+import com.lms.library_management_system.cache.BookDetailsCache;
 import com.lms.library_management_system.dto.*;
 import com.lms.library_management_system.entity.Book;
 import com.lms.library_management_system.entity.BookCopy;
 import com.lms.library_management_system.exception.BookCopyMismatchException;
 import com.lms.library_management_system.exception.BookNotFoundException;
 import com.lms.library_management_system.exception.CopyNotFoundException;
+import com.lms.library_management_system.exception.CopyStateConflictException;
 import com.lms.library_management_system.exception.DuplicateBookException;
+import com.lms.library_management_system.exception.InvalidPageSizeException;
+import com.lms.library_management_system.index.BookKeyFilter;
+import com.lms.library_management_system.index.BookSearchIndex;
+import com.lms.library_management_system.index.BookSuggestIndex;
 import com.lms.library_management_system.repository.BookCopyRepository;
 import com.lms.library_management_system.repository.BookRepository;
+import com.lms.library_management_system.repository.BookSpecifications;
 import com.lms.library_management_system.service.BookService;
+import com.lms.library_management_system.util.CursorCodec;
+import com.lms.library_management_system.util.InChunks;
+import com.lms.library_management_system.util.KeysetPages;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "library.book.service", description = "BookService method calls")
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
     private final BookCopyRepository bookCopyRepository;
+    private final BookKeyFilter bookKeyFilter;
+    private final BookDetailsCache bookDetailsCache;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestIndex bookSuggestIndex;
 
     @Autowired
-    public BookServiceImpl(BookRepository bookRepository, BookCopyRepository bookCopyRepository) {
+    public BookServiceImpl(BookRepository bookRepository,
+                           BookCopyRepository bookCopyRepository,
+                           BookKeyFilter bookKeyFilter,
+                           BookDetailsCache bookDetailsCache,
+                           BookSearchIndex bookSearchIndex,
+                           BookSuggestIndex bookSuggestIndex) {
         this.bookRepository = bookRepository;
         this.bookCopyRepository = bookCopyRepository;
+        this.bookKeyFilter = bookKeyFilter;
+        this.bookDetailsCache = bookDetailsCache;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookSuggestIndex = bookSuggestIndex;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDto> getAllBooks(BookFilterDto filter, Pageable pageable) {
+        if (filter.isEmpty() && pageable.getSort().isUnsorted()) {
+            return bookRepository.findAllBookDtos(pageable);
+        }
+
+        return bookRepository.findBookDtos(BookSpecifications.matching(filter), withIdTieBreak(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long writeAllBooks(BookFilterDto filter, Pageable pageable, StreamedPageDto.ItemWriter<BookDto> writer)
+            throws IOException {
+        Specification<Book> spec = BookSpecifications.matching(filter);
+        int written = 0;
+        try (Stream<BookDto> books = bookRepository.streamBookDtos(spec, withIdTieBreak(pageable))) {
+            Iterator<BookDto> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                written++;
+            }
+        }
+
+        // As in findBookDtos, the count only runs when the page alone cannot tell the total
+        if (written < pageable.getPageSize() && (pageable.getOffset() == 0 || written > 0)) {
+            return pageable.getOffset() + written;
+        }
+        return bookRepository.countBookDtos(spec);
     }
 
     @Override
-    public Page<BookDto> getAllBooks(Pageable pageable) {
-        return bookRepository.findAll(pageable)
-                .map(this::mapToBookDto);
+    @Transactional(readOnly = true)
+    public CursorPageDto<BookDto> getBooksAfter(String cursor, int size) {
+        checkKeysetSize(size);
+        long afterId = CursorCodec.decode(cursor);
+
+        List<BookDto> books = bookRepository.findBookDtosAfter(afterId, Limit.of(size + 1));
+        return KeysetPages.of(books, size, BookDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDto> searchBooks(String query, Pageable pageable) {
+        BookSearchIndex.SearchHits hits = bookSearchIndex.search(query, pageable.getPageNumber(), pageable.getPageSize());
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+
+        // The index only ranks ids; rows come from the database so the copy counters are current
+        Map<Long, BookDto> books = bookRepository.findBookDtosByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(BookDto::getId, Function.identity()));
+        List<BookDto> content = hits.ids().stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.total());
     }
 
+    @Override
+    public List<SuggestionDto> suggestBooks(String prefix, int limit) {
+        return bookSuggestIndex.suggest(prefix, limit);
+    }
 
     @Override
+    @Transactional
     public BookDto createBook(BookCreateDto dto) {
-        if (bookRepository.existsByIsbn(dto.getIsbn()) || bookRepository.existsByTitle(dto.getTitle())) {
+        if (bookKeyFilter.isbnExists(dto.getIsbn(), bookRepository::existsByIsbn)
+                || bookKeyFilter.titleExists(dto.getTitle(), bookRepository::existsByTitle)) {
             throw new DuplicateBookException("Book with same title or ISBN already exists.");
         }
 
@@ -50,21 +151,112 @@ public class BookServiceImpl implements BookService {
                 .publishedYear(dto.getPublishedYear())
                 .build();
 
-        return mapToBookDto(bookRepository.save(book));
+        Book saved = bookRepository.save(book);
+        bookKeyFilter.addIsbn(saved.getIsbn());
+        bookKeyFilter.addTitle(saved.getTitle());
+        bookSearchIndex.index(saved.getId(), saved.getTitle(), saved.getAuthor());
+        bookSuggestIndex.add(saved.getId(), saved.getTitle(), saved.getAuthor(), 0);
+        return mapToBookDto(saved);
     }
 
     @Override
     public BookDetailsDto getBookById(Long id) {
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new BookNotFoundException(id));
+        // No surrounding transaction, so a cache hit never borrows a connection
+        return bookDetailsCache.get(id, bookId -> {
+            Book book = bookRepository.findWithCopiesById(bookId)
+                    .orElseThrow(() -> new BookNotFoundException(bookId));
 
-        return mapToBookDetailsDto(book);
+            return mapToBookDetailsDto(book);
+        });
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public BookLookupResultDto lookupBooks(BookLookupDto dto) {
+        List<Long> ids = distinct(dto.getIds());
+        List<String> isbns = distinct(dto.getIsbns());
+
+        Map<Long, BookDetailsDto> byId = new HashMap<>();
+        Map<String, BookDetailsDto> byIsbn = new HashMap<>();
+        for (List<Long> chunk : InChunks.of(ids)) {
+            withCopies(bookRepository.findBookDtosByIdIn(chunk)).forEach(book -> byId.put(book.getId(), book));
+        }
+        // Books already found by id are fetched again here, which costs less than splitting the chunks
+        for (List<String> chunk : InChunks.of(isbns)) {
+            withCopies(bookRepository.findBookDtosByIsbnIn(chunk)).forEach(book -> byIsbn.put(book.getIsbn(), book));
+        }
+
+        // Request order, ids before ISBNs, each book once
+        Map<Long, BookDetailsDto> books = new LinkedHashMap<>();
+        ids.stream().map(byId::get).filter(Objects::nonNull).forEach(book -> books.putIfAbsent(book.getId(), book));
+        isbns.stream().map(byIsbn::get).filter(Objects::nonNull).forEach(book -> books.putIfAbsent(book.getId(), book));
+
+        return BookLookupResultDto.builder()
+                .books(new ArrayList<>(books.values()))
+                .missingIds(ids.stream().filter(id -> !byId.containsKey(id)).toList())
+                .missingIsbns(isbns.stream().filter(isbn -> !byIsbn.containsKey(isbn)).toList())
+                .build();
+    }
+
+    // The id tie-break keeps rows with equal sort keys from moving between pages; it follows the direction
+    // of the last order so the trailing id column of the listing indexes can serve it
+    private Pageable withIdTieBreak(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor("id") == null) {
+            Sort.Direction direction = sort.stream().reduce((first, second) -> second)
+                    .map(Sort.Order::getDirection)
+                    .orElse(Sort.Direction.ASC);
+            sort = sort.and(Sort.by(direction, "id"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    // The limit is size + 1, and an empty page would have no last id for the cursor
+    private void checkKeysetSize(int size) {
+        if (size < 1) {
+            throw new InvalidPageSizeException(size);
+        }
+    }
+
+    // One copies query per chunk of books instead of one per book
+    private List<BookDetailsDto> withCopies(List<BookDto> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<BookCopyDto>> copies = bookCopyRepository.findStatesByBookIdIn(books.stream().map(BookDto::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(BookCopyRepository.CopyState::bookId,
+                        Collectors.mapping(copy -> new BookCopyDto(copy.id(), copy.available()), Collectors.toList())));
+
+        return books.stream()
+                .map(book -> BookDetailsDto.builder()
+                        .id(book.getId())
+                        .title(book.getTitle())
+                        .author(book.getAuthor())
+                        .isbn(book.getIsbn())
+                        .publishedYear(book.getPublishedYear())
+                        .copies(copies.getOrDefault(book.getId(), List.of()))
+                        .build())
+                .toList();
+    }
+
+    private static <T> List<T> distinct(List<T> keys) {
+        return keys == null ? List.of() : keys.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    @Override
+    public long getBookVersion(Long id) {
+        return bookRepository.findVersionById(id)
+                .orElseThrow(() -> new BookNotFoundException(id));
+    }
+
+    @Override
+    @Transactional
     public BookDto updateBook(Long id, BookUpdateDto dto) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
+        String oldTitle = book.getTitle();
+        String oldAuthor = book.getAuthor();
 
         if (dto.getTitle() != null && !dto.getTitle().isBlank()) {
             book.setTitle(dto.getTitle());
@@ -82,28 +274,72 @@ public class BookServiceImpl implements BookService {
             book.setPublishedYear(dto.getPublishedYear());
         }
 
-        return mapToBookDto(bookRepository.save(book));
+        Book saved = bookRepository.save(book);
+        bookKeyFilter.addIsbn(saved.getIsbn());
+        bookKeyFilter.addTitle(saved.getTitle());
+        bookDetailsCache.invalidate(id);
+        bookSearchIndex.index(id, saved.getTitle(), saved.getAuthor());
+        bookSuggestIndex.update(id, oldTitle, oldAuthor, saved.getTitle(), saved.getAuthor(), saved.getTotalCopies());
+        return mapToBookDto(saved);
     }
 
     @Override
+    @Transactional
     public void deleteBook(Long id) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
-        bookRepository.delete(book);
+        // Copies and the row itself are removed later by BookPurger
+        if (bookRepository.markDeleted(id, LocalDateTime.now()) == 0) {
+            throw new BookNotFoundException(id);
+        }
+        bookDetailsCache.invalidate(id);
+        bookSearchIndex.remove(id);
+        bookSuggestIndex.remove(id, book.getTitle(), book.getAuthor());
     }
 
     @Override
-    public List<BookCopyDto> getCopiesByBookId(Long id) {
+    @Transactional(readOnly = true)
+    public List<BookCopyDto> getCopiesByBookId(Long id, Boolean available) {
         if (!bookRepository.existsById(id)) {
             throw new BookNotFoundException(id);
         }
 
-        return bookCopyRepository.findByBookId(id).stream()
-                .map(copy -> new BookCopyDto(copy.getId(), copy.getAvailable()))
-                .collect(Collectors.toList());
+        return available == null
+                ? bookCopyRepository.findCopyDtosByBookId(id)
+                : bookCopyRepository.findCopyDtosByBookIdAndAvailable(id, available);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookCopyDto> getCopiesByBookId(Long id, Boolean available, Pageable pageable) {
+        if (!bookRepository.existsById(id)) {
+            throw new BookNotFoundException(id);
+        }
+
+        // The queries fix the order to copy id, which their index returns without sorting
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return available == null
+                ? bookCopyRepository.findCopyDtosByBookId(id, unsorted)
+                : bookCopyRepository.findCopyDtosByBookIdAndAvailable(id, available, unsorted);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<BookCopyDto> getCopiesAfter(Long id, Boolean available, String cursor, int size) {
+        checkKeysetSize(size);
+        long afterId = CursorCodec.decode(cursor);
+        if (!bookRepository.existsById(id)) {
+            throw new BookNotFoundException(id);
+        }
+
+        List<BookCopyDto> copies = available == null
+                ? bookCopyRepository.findCopyDtosByBookIdAfter(id, afterId, Limit.of(size + 1))
+                : bookCopyRepository.findCopyDtosByBookIdAndAvailableAfter(id, available, afterId, Limit.of(size + 1));
+        return KeysetPages.of(copies, size, BookCopyDto::getId);
+    }
+
+    @Override
+    @Transactional
     public BookCopyDto addCopyToBook(Long bookId) {
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new BookNotFoundException(bookId));
@@ -113,35 +349,154 @@ public class BookServiceImpl implements BookService {
         copy.setAvailable(true);
 
         BookCopy saved = bookCopyRepository.save(copy);
+        bookRepository.incrementCopyCounters(bookId);
+        bookDetailsCache.invalidate(bookId);
+        bookSuggestIndex.addCopies(bookId, book.getTitle(), book.getAuthor(), 1);
 
         return new BookCopyDto(saved.getId(), saved.getAvailable());
     }
 
     @Override
+    @Transactional
     public BookCopyDto updateCopyAvailability(Long bookId, Long copyId, BookCopyUpdateDto dto) {
-        BookCopy copy = bookCopyRepository.findById(copyId)
-                .orElseThrow(() -> new CopyNotFoundException(copyId));
+        boolean available = dto.getAvailable();
+        if (!changeAvailability(bookId, copyId, available)) {
+            // Setting the state the copy is already in is a no-op
+            checkOwnership(bookId, copyId);
+        }
+        return new BookCopyDto(copyId, available);
+    }
 
-        if (!copy.getBook().getId().equals(bookId)) {
-            throw new BookCopyMismatchException();
+    @Override
+    @Transactional
+    public BookCopyDto checkoutCopy(Long bookId, Long copyId) {
+        return transition(bookId, copyId, false);
+    }
+
+    @Override
+    @Transactional
+    public BookCopyDto returnCopy(Long bookId, Long copyId) {
+        return transition(bookId, copyId, true);
+    }
+
+    @Override
+    @Transactional
+    public CopyAvailabilityResultDto updateCopiesAvailability(List<CopyAvailabilityUpdateDto> updates) {
+        Map<Long, BookCopyRepository.CopyState> stored = bookCopyRepository.lockStates(updates.stream()
+                        .filter(Objects::nonNull)
+                        .map(CopyAvailabilityUpdateDto::getCopyId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(BookCopyRepository.CopyState::id, Function.identity()));
+
+        // Items apply in order, so a copy listed twice ends in the state of its last item
+        Map<Long, Boolean> requested = new HashMap<>();
+        List<CopyAvailabilityRowDto> rows = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            CopyAvailabilityUpdateDto update = updates.get(i);
+            CopyAvailabilityRowDto.CopyAvailabilityRowDtoBuilder row = CopyAvailabilityRowDto.builder().row(i + 1);
+            if (update == null || update.getCopyId() == null || update.getAvailable() == null) {
+                rows.add(row.copyId(update != null ? update.getCopyId() : null)
+                        .status(CopyAvailabilityStatus.INVALID).message("copyId and available are required").build());
+                continue;
+            }
+
+            row.copyId(update.getCopyId()).bookId(update.getBookId());
+            BookCopyRepository.CopyState state = stored.get(update.getCopyId());
+            if (state == null) {
+                row.status(CopyAvailabilityStatus.NOT_FOUND).message(new CopyNotFoundException(update.getCopyId()).getMessage());
+            } else if (update.getBookId() != null && !update.getBookId().equals(state.bookId())) {
+                row.status(CopyAvailabilityStatus.MISMATCH).message(new BookCopyMismatchException().getMessage());
+            } else {
+                requested.put(state.id(), update.getAvailable());
+                row.bookId(state.bookId());
+            }
+            rows.add(row.build());
+        }
+
+        // Every applied item reports the net outcome for its copy, so true, false, true on an available copy is
+        // UNCHANGED throughout
+        for (CopyAvailabilityRowDto row : rows) {
+            if (row.getStatus() == null) {
+                boolean available = requested.get(row.getCopyId());
+                row.setAvailable(available);
+                row.setStatus(available == stored.get(row.getCopyId()).available()
+                        ? CopyAvailabilityStatus.UNCHANGED : CopyAvailabilityStatus.UPDATED);
+            }
+        }
+
+        Map<Boolean, List<Long>> changed = requested.entrySet().stream()
+                .filter(entry -> entry.getValue() != stored.get(entry.getKey()).available())
+                .collect(Collectors.partitioningBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        Set<Long> bookIds = changed.values().stream()
+                .flatMap(List::stream)
+                .map(copyId -> stored.get(copyId).bookId())
+                .collect(Collectors.toSet());
+        if (!bookIds.isEmpty()) {
+            bookCopyRepository.updateAvailability(changed.get(true), true);
+            bookCopyRepository.updateAvailability(changed.get(false), false);
+            bookRepository.recountAvailableCopies(bookIds);
+            bookIds.forEach(bookDetailsCache::invalidate);
         }
 
-        copy.setAvailable(dto.getAvailable());
-        BookCopy updated = bookCopyRepository.save(copy);
-        return new BookCopyDto(updated.getId(), updated.getAvailable());
+        int updated = count(rows, CopyAvailabilityStatus.UPDATED);
+        int unchanged = count(rows, CopyAvailabilityStatus.UNCHANGED);
+        return CopyAvailabilityResultDto.builder()
+                .received(updates.size())
+                .updated(updated)
+                .unchanged(unchanged)
+                .rejected(updates.size() - updated - unchanged)
+                .rows(rows)
+                .build();
+    }
+
+    private static int count(List<CopyAvailabilityRowDto> rows, CopyAvailabilityStatus status) {
+        return (int) rows.stream().filter(row -> row.getStatus() == status).count();
+    }
+
+    private BookCopyDto transition(Long bookId, Long copyId, boolean available) {
+        if (!changeAvailability(bookId, copyId, available)) {
+            checkOwnership(bookId, copyId);
+            throw new CopyStateConflictException(copyId, available);
+        }
+        return new BookCopyDto(copyId, available);
+    }
+
+    // One conditional update that only matches a copy of this book in the opposite state
+    private boolean changeAvailability(Long bookId, Long copyId, boolean available) {
+        if (bookCopyRepository.updateAvailability(bookId, copyId, !available, available) == 0) {
+            return false;
+        }
+        bookRepository.adjustAvailableCopies(bookId, available ? 1 : -1);
+        bookDetailsCache.invalidate(bookId);
+        return true;
+    }
+
+    // Only reached when the update matched nothing, to tell which condition failed
+    private void checkOwnership(Long bookId, Long copyId) {
+        Long owner = bookCopyRepository.findBookIdById(copyId)
+                .orElseThrow(() -> new CopyNotFoundException(copyId));
+        if (!owner.equals(bookId)) {
+            throw new BookCopyMismatchException();
+        }
     }
 
-    private BookDto mapToBookDto(Book book) {
+    // Package-private so the JMH benchmarks can measure the mappers directly
+    BookDto mapToBookDto(Book book) {
         return BookDto.builder()
                 .id(book.getId())
                 .title(book.getTitle())
                 .author(book.getAuthor())
                 .isbn(book.getIsbn())
                 .publishedYear(book.getPublishedYear())
+                .availableCopies(book.getAvailableCopies())
+                .totalCopies(book.getTotalCopies())
                 .build();
     }
 
-    private BookDetailsDto mapToBookDetailsDto(Book book) {
+    BookDetailsDto mapToBookDetailsDto(Book book) {
         List<BookCopyDto> copies = book.getCopies().stream()
                 .map(copy -> new BookCopyDto(copy.getId(), copy.getAvailable()))
                 .collect(Collectors.toList());
@@ -153,6 +508,7 @@ public class BookServiceImpl implements BookService {
                 .isbn(book.getIsbn())
                 .publishedYear(book.getPublishedYear())
                 .copies(copies)
+                .version(book.getVersion())
                 .build();
     }
 
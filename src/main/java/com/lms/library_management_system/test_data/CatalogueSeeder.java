@@ -0,0 +1,105 @@
+package com.lms.library_management_system.test_data;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills an empty database with a synthetic catalogue for load testing. Most books get a single copy and
+ * a few get many, and the same seed always produces the same catalogue. Rows go in through JDBC batches
+ * with explicit ids, and the sequences are moved past them afterwards.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+public class CatalogueSeeder implements CommandLineRunner {
+
+    // Hibernate hands out ids in blocks of the sequence allocation size
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int books;
+    private final int maxCopies;
+    private final double availableRatio;
+    private final int batchSize;
+    private final long randomSeed;
+
+    @Autowired
+    public CatalogueSeeder(JdbcTemplate jdbcTemplate,
+                           @Value("${library.seed.books:100000}") int books,
+                           @Value("${library.seed.max-copies:20}") int maxCopies,
+                           @Value("${library.seed.available-ratio:0.7}") double availableRatio,
+                           @Value("${library.seed.batch-size:5000}") int batchSize,
+                           @Value("${library.seed.random-seed:42}") long randomSeed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.books = books;
+        this.maxCopies = maxCopies;
+        this.availableRatio = availableRatio;
+        this.batchSize = batchSize;
+        this.randomSeed = randomSeed;
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject("select count(*) from books", Integer.class);
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        Random random = new Random(randomSeed);
+        List<Object[]> bookRows = new ArrayList<>(batchSize);
+        List<Object[]> copyRows = new ArrayList<>(batchSize * 2);
+        long copyId = 0;
+
+        for (long bookId = 1; bookId <= books; bookId++) {
+            int copies = copiesFor(random);
+            int available = 0;
+            for (int i = 0; i < copies; i++) {
+                boolean isAvailable = random.nextDouble() < availableRatio;
+                if (isAvailable) {
+                    available++;
+                }
+                copyRows.add(new Object[]{++copyId, bookId, isAvailable});
+            }
+            bookRows.add(new Object[]{bookId, "Title " + bookId, "Author " + (bookId % 5_000),
+                    String.format("978%010d", bookId), 1900 + random.nextInt(126), available, copies});
+
+            if (bookRows.size() == batchSize) {
+                flush(bookRows, copyRows);
+            }
+        }
+        flush(bookRows, copyRows);
+
+        jdbcTemplate.execute("alter sequence book_seq restart with " + (books + ALLOCATION_SIZE + 1));
+        jdbcTemplate.execute("alter sequence book_copy_seq restart with " + (copyId + ALLOCATION_SIZE + 1));
+
+        log.info("Seeded {} books and {} copies in {} ms", books, copyId, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Cubing a uniform value piles most of the mass near one copy with a long tail up to maxCopies
+    private int copiesFor(Random random) {
+        double u = random.nextDouble();
+        return 1 + (int) ((maxCopies - 1) * u * u * u);
+    }
+
+    private void flush(List<Object[]> bookRows, List<Object[]> copyRows) {
+        if (bookRows.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate("insert into books (id, title, author, isbn, published_year, available_copies, total_copies, version) "
+                + "values (?, ?, ?, ?, ?, ?, ?, 0)", bookRows);
+        jdbcTemplate.batchUpdate("insert into book_copies (id, book_id, available, version) values (?, ?, ?, 0)", copyRows);
+        bookRows.clear();
+        copyRows.clear();
+    }
+}
@@ -6,9 +6,11 @@ import com.lms.library_management_system.repository.BookCopyRepository;
 import com.lms.library_management_system.repository.BookRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 @Component
+@Profile("!seed")
 @RequiredArgsConstructor
 public class DataLoader implements CommandLineRunner {
 
@@ -23,6 +25,8 @@ public class DataLoader implements CommandLineRunner {
                     .author("Joshua Bloch")
                     .isbn("9780134685991")
                     .publishedYear(2018)
+                    .availableCopies(1)
+                    .totalCopies(2)
                     .build());
 
             Book book2 = bookRepository.save(Book.builder()
@@ -30,6 +34,8 @@ public class DataLoader implements CommandLineRunner {
                     .author("Robert C. Martin")
                     .isbn("9780132350884")
                     .publishedYear(2008)
+                    .availableCopies(1)
+                    .totalCopies(1)
                     .build());
 
             bookCopyRepository.save(BookCopy.builder().book(book1).available(true).build());
@@ -0,0 +1,26 @@
+package com.lms.library_management_system.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Splits key lists for {@code IN (...)} queries, so no statement binds more than {@link #SIZE} parameters
+ * however large the batch.
+ */
+public final class InChunks {
+
+    public static final int SIZE = 1_000;
+
+    private InChunks() {
+    }
+
+    public static <T> List<List<T>> of(Collection<T> keys) {
+        List<T> all = List.copyOf(keys);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < all.size(); start += SIZE) {
+            chunks.add(all.subList(start, Math.min(start + SIZE, all.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,24 @@
+package com.lms.library_management_system.util;
+
+import com.lms.library_management_system.dto.CursorPageDto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Builds keyset pages from rows read with a limit of one more than the page size. The extra row only tells
+ * whether another page follows, so no count query is needed.
+ */
+public final class KeysetPages {
+
+    private KeysetPages() {
+    }
+
+    public static <T> CursorPageDto<T> of(List<T> rows, int size, Function<T, Long> id) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext ? CursorCodec.encode(id.apply(content.get(content.size() - 1))) : null;
+        return new CursorPageDto<>(content, content.size(), nextCursor);
+    }
+}
@@ -0,0 +1,37 @@
+package com.lms.library_management_system.util;
+
+import com.lms.library_management_system.exception.InvalidSortException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Parses a {@code property[,asc|desc]} sort parameter, accepting only the given properties.
+ */
+public final class SortParser {
+
+    private SortParser() {
+    }
+
+    /**
+     * Returns the parsed sort, or {@link Sort#unsorted()} for a blank parameter.
+     */
+    public static Sort parse(String sort, Set<String> allowed) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.unsorted();
+        }
+
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (parts.length > 2 || !allowed.contains(property)) {
+            throw new InvalidSortException(sort);
+        }
+
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length == 2) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new InvalidSortException(sort));
+        }
+        return Sort.by(direction, property);
+    }
+}
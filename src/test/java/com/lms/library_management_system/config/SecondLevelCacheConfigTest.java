@@ -0,0 +1,36 @@
+package com.lms.library_management_system.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecondLevelCacheConfigTest {
+
+    private final SecondLevelCacheConfig config = new SecondLevelCacheConfig();
+
+    //secondLevelCacheManager test
+    @Test
+    void shouldGiveEachContextItsOwnRegions() {
+        CacheManager first = config.secondLevelCacheManager(10, Duration.ofMinutes(1), 10, Duration.ofMinutes(1));
+        CacheManager second = config.secondLevelCacheManager(10, Duration.ofMinutes(1), 10, Duration.ofMinutes(1));
+        try {
+            Cache<Object, Object> firstBooks = first.getCache(SecondLevelCacheConfig.BOOK_REGION);
+            Cache<Object, Object> secondBooks = second.getCache(SecondLevelCacheConfig.BOOK_REGION);
+            firstBooks.put(1L, "cached");
+
+            assertNotSame(first, second);
+            assertNull(secondBooks.get(1L));
+
+            first.close();
+            secondBooks.put(1L, "still open");
+            assertEquals("still open", secondBooks.get(1L));
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.lms.library_management_system.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.lms.library_management_system.controller.LoadTestReport.skewed;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Open-loop load driver over the eight book endpoints against a seeded catalogue. Requests are issued on a
+ * fixed schedule and latency is measured from the scheduled start, so a stalled server shows up in the tail
+ * instead of silently lowering the rate. Runs only with {@code -Pload-test}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("seed")
+@EnabledIfSystemProperty(named = "load.test", matches = "true")
+class BookControllerLoadTest {
+
+    private enum Operation {
+        GET_BOOKS(15), CREATE_BOOK(3), GET_BOOK(38), UPDATE_BOOK(2),
+        DELETE_BOOK(2), GET_COPIES(20), ADD_COPY(2), UPDATE_COPY(18);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Operation[] MIX = Arrays.stream(Operation.values())
+            .flatMap(operation -> Collections.nCopies(operation.weight, operation).stream())
+            .toArray(Operation[]::new);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${load.rate:500}")
+    private int rate;
+
+    @Value("${load.duration:PT60S}")
+    private Duration duration;
+
+    @Value("${load.warmup:PT10S}")
+    private Duration warmup;
+
+    @Value("${load.threads:64}")
+    private int threads;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final LoadTestReport report = new LoadTestReport();
+    private final Queue<Long> createdBooks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createdCounter = new AtomicLong();
+
+    private long books;
+    private long[] copyIds;
+    private long[] copyBookIds;
+
+    @Test
+    void shouldSustainTargetRateWithMixedTraffic() throws Exception {
+        books = jdbcTemplate.queryForObject("select count(*) from books", Long.class);
+        List<long[]> copies = jdbcTemplate.query("select id, book_id from book_copies order by id",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        copyIds = copies.stream().mapToLong(copy -> copy[0]).toArray();
+        copyBookIds = copies.stream().mapToLong(copy -> copy[1]).toArray();
+
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+        }
+
+        long interval = 1_000_000_000L / rate;
+        long start = System.nanoTime() + 100_000_000L;
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        AtomicLong ticket = new AtomicLong();
+        LongAdder completed = new LongAdder();
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                long intended;
+                while ((intended = start + ticket.getAndIncrement() * interval) < end) {
+                    long delay = intended - System.nanoTime();
+                    if (delay > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+
+                    Operation operation = MIX[ThreadLocalRandom.current().nextInt(MIX.length)];
+                    Operation executed = execute(operation);
+                    if (intended >= measureFrom) {
+                        histograms.get(executed).recordValue((System.nanoTime() - intended) / 1_000);
+                        completed.increment();
+                    }
+                }
+            }, "load-driver-" + t);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // A server that falls behind finishes the scheduled requests late, which lowers the achieved rate
+        report(completed.sum(), System.nanoTime() - measureFrom);
+        assertEquals(0, report.serverErrors(), "Server errors or failed requests");
+    }
+
+    private Operation execute(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            switch (operation) {
+                case GET_BOOKS -> send(HttpRequest.newBuilder(uri("?page=" + skewed(books / 20) + "&size=20")).GET());
+                case GET_BOOK -> send(HttpRequest.newBuilder(uri("/" + (1 + skewed(books)))).GET());
+                case GET_COPIES -> send(HttpRequest.newBuilder(uri("/" + (1 + skewed(books)) + "/copies")).GET());
+                case UPDATE_BOOK -> send(HttpRequest.newBuilder(uri("/" + (1 + skewed(books))))
+                        .PUT(json(Map.of("publishedYear", 1900 + random.nextInt(126)))));
+                case ADD_COPY -> send(HttpRequest.newBuilder(uri("/" + (1 + skewed(books)) + "/copies"))
+                        .POST(HttpRequest.BodyPublishers.noBody()));
+                case UPDATE_COPY -> {
+                    int copy = random.nextInt(copyIds.length);
+                    send(HttpRequest.newBuilder(uri("/" + copyBookIds[copy] + "/copies/" + copyIds[copy]))
+                            .PUT(json(Map.of("available", random.nextBoolean()))));
+                }
+                case DELETE_BOOK -> {
+                    // Only books the driver created itself are deleted, so the seeded catalogue stays intact
+                    Long id = createdBooks.poll();
+                    if (id == null) {
+                        return execute(Operation.CREATE_BOOK);
+                    }
+                    send(HttpRequest.newBuilder(uri("/" + id)).DELETE());
+                }
+                case CREATE_BOOK -> {
+                    long n = createdCounter.incrementAndGet();
+                    HttpResponse<String> response = send(HttpRequest.newBuilder(uri(""))
+                            .POST(json(Map.of("title", "Load test " + n, "author", "Load driver",
+                                    "isbn", String.format("979%010d", n), "publishedYear", 2024))));
+                    if (response.statusCode() == 201) {
+                        createdBooks.add(objectMapper.readTree(response.body()).get("id").asLong());
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            report.recordFailure(0);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return operation;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.header("Content-Type", "application/json").build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            report.recordFailure(response.statusCode());
+        }
+        return response;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/books" + path);
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, Object> body) throws IOException {
+        return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+    }
+
+    private void report(long completed, long elapsedNanos) throws IOException {
+        Histogram total = report.printLatencies(String.format("Load test: %d books, target %d req/s, %d threads, %s measured",
+                books, rate, threads, duration), histograms);
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            report.writeDistribution(entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue());
+        }
+        report.writeDistribution("total", total);
+
+        System.out.printf("Throughput: %.1f req/s achieved, %d req/s scheduled%n", completed / (elapsedNanos / 1e9), rate);
+        report.printFailures();
+    }
+}
@@ -1,32 +1,72 @@
 package com.lms.library_management_system.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lms.library_management_system.dto.*;
+import com.lms.library_management_system.entity.Book;
 import com.lms.library_management_system.exception.BookNotFoundException;
 import com.lms.library_management_system.exception.CopyNotFoundException;
+import com.lms.library_management_system.exception.CopyStateConflictException;
+import com.lms.library_management_system.exception.GlobalExceptionHandler;
+import com.lms.library_management_system.exception.InvalidPageSizeException;
+import com.lms.library_management_system.exception.InvalidSortException;
+import com.lms.library_management_system.service.BookExportService;
+import com.lms.library_management_system.service.BookImportService;
 import com.lms.library_management_system.service.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class BookControllerTest {
 
     private BookService bookService;
+    private BookImportService bookImportService;
+    private BookExportService bookExportService;
     private BookController bookController;
 
     @BeforeEach
     void setUp() {
         bookService = mock(BookService.class);
-        bookController = new BookController(bookService);
+        bookImportService = mock(BookImportService.class);
+        bookExportService = mock(BookExportService.class);
+        bookController = new BookController(bookService, bookImportService, bookExportService, 100, 20, Duration.ofMinutes(30),
+                new ContentNegotiationManager());
     }
 
     //getAllBooks test
@@ -51,14 +91,95 @@ public class BookControllerTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<BookDto> page = new PageImpl<>(List.of(book1, book2), pageable, 2);
 
-        when(bookService.getAllBooks(pageable)).thenReturn(page);
+        BookFilterDto filter = new BookFilterDto();
+        when(bookService.getAllBooks(filter, pageable)).thenReturn(page);
+
+        ResponseEntity<?> response = bookController.getAllBooks(filter, 0, 10, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Page<?> body = (Page<?>) response.getBody();
+        assertEquals(2, body.getTotalElements());
+        assertEquals("Book One", ((BookDto) body.getContent().get(0)).getTitle());
+        assertEquals("Book Two", ((BookDto) body.getContent().get(1)).getTitle());
+    }
+
+    @Test
+    void shouldPassFilterAndSortToService() {
+        BookFilterDto filter = BookFilterDto.builder().author("Author One").yearFrom(1990).build();
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "publishedYear"));
+
+        when(bookService.getAllBooks(filter, pageable)).thenReturn(Page.empty(pageable));
 
-        ResponseEntity<Page<BookDto>> response = bookController.getAllBooks(0, 10);
+        ResponseEntity<?> response = bookController.getAllBooks(filter, 0, 10, "publishedYear,desc");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(2, response.getBody().getTotalElements());
-        assertEquals("Book One", response.getBody().getContent().get(0).getTitle());
-        assertEquals("Book Two", response.getBody().getContent().get(1).getTitle());
+        verify(bookService).getAllBooks(filter, pageable);
+    }
+
+    @Test
+    void shouldRejectUnsupportedSort() {
+        assertThrows(InvalidSortException.class,
+                () -> bookController.getAllBooks(new BookFilterDto(), 0, 10, "isbn"));
+        assertThrows(InvalidSortException.class,
+                () -> bookController.getAllBooks(new BookFilterDto(), 0, 10, "title,sideways"));
+    }
+
+    @Test
+    void shouldRejectPageSizeOutsideLimits() {
+        assertThrows(InvalidPageSizeException.class,
+                () -> bookController.getAllBooks(new BookFilterDto(), 0, 101, null));
+        assertThrows(InvalidPageSizeException.class,
+                () -> bookController.getAllBooks(new BookFilterDto(), 0, 0, null));
+        assertThrows(InvalidPageSizeException.class, () -> bookController.getBooksAfter("", 101));
+        assertThrows(InvalidPageSizeException.class, () -> bookController.searchBooks("java", 0, 101));
+        assertThrows(InvalidPageSizeException.class, () -> bookController.getCopiesPage(1L, null, 0, 0, null));
+        assertThrows(InvalidPageSizeException.class, () -> bookController.getCopiesAfter(1L, null, "", 101, null));
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    void shouldStreamPagesAboveThreshold() throws Exception {
+        BookFilterDto filter = new BookFilterDto();
+        Pageable pageable = PageRequest.of(1, 50);
+        when(bookService.writeAllBooks(eq(filter), eq(pageable), any())).thenAnswer(invocation -> {
+            StreamedPageDto.ItemWriter<BookDto> writer = invocation.getArgument(2);
+            writer.write(BookDto.builder().id(51L).title("Book Fifty-One").build());
+            writer.write(BookDto.builder().id(52L).title("Book Fifty-Two").build());
+            return 52L;
+        });
+
+        ResponseEntity<?> response = bookController.getAllBooks(filter, 1, 50, null);
+
+        assertInstanceOf(StreamedPageDto.class, response.getBody());
+        verify(bookService, never()).getAllBooks(any(), any());
+
+        // Written with the fields of the Page it replaces
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode streamed = objectMapper.valueToTree(response.getBody());
+        JsonNode expected = objectMapper.valueToTree(new PageImpl<>(List.of(
+                BookDto.builder().id(51L).title("Book Fifty-One").build(),
+                BookDto.builder().id(52L).title("Book Fifty-Two").build()), pageable, 52));
+        assertEquals(expected, streamed);
+    }
+
+    //getBooksAfter test
+    @Test
+    void shouldReturnKeysetPageOfBooks() {
+        BookDto book = BookDto.builder()
+                .id(3L)
+                .title("Book Three")
+                .build();
+
+        CursorPageDto<BookDto> page = new CursorPageDto<>(List.of(book), 1, "Mw");
+
+        when(bookService.getBooksAfter("Mg", 1)).thenReturn(page);
+
+        ResponseEntity<CursorPageDto<BookDto>> response = bookController.getBooksAfter("Mg", 1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Book Three", response.getBody().getContent().get(0).getTitle());
+        assertEquals("Mw", response.getBody().getNextCursor());
     }
 
     //addBook test
@@ -90,6 +211,34 @@ public class BookControllerTest {
         assertEquals(2025, response.getBody().getPublishedYear());
     }
 
+    //searchBooks test
+    @Test
+    void shouldReturnSearchResults() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<BookDto> page = new PageImpl<>(List.of(BookDto.builder().id(1L).title("Effective Java").build()), pageable, 1);
+
+        when(bookService.searchBooks("java", pageable)).thenReturn(page);
+
+        ResponseEntity<Page<BookDto>> response = bookController.searchBooks("java", 0, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getTotalElements());
+        assertEquals("Effective Java", response.getBody().getContent().get(0).getTitle());
+    }
+
+    //suggestBooks test
+    @Test
+    void shouldReturnSuggestions() {
+        List<SuggestionDto> suggestions = List.of(new SuggestionDto("Effective Java", SuggestionType.TITLE, 1L, 4));
+
+        when(bookService.suggestBooks("eff", 10)).thenReturn(suggestions);
+
+        ResponseEntity<List<SuggestionDto>> response = bookController.suggestBooks("eff", 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Effective Java", response.getBody().get(0).getText());
+    }
+
     //getBookById test
     @Test
     void shouldReturnBookDetailsDtoById() {
@@ -105,18 +254,126 @@ public class BookControllerTest {
                 .isbn("9780134685991")
                 .publishedYear(2018)
                 .copies(List.of(copy1, copy2))
+                .version(3L)
                 .build();
 
+        when(bookService.getBookVersion(bookId)).thenReturn(3L);
         when(bookService.getBookById(bookId)).thenReturn(dto);
 
-        ResponseEntity<BookDetailsDto> response = bookController.getBookById(bookId);
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ResponseEntity<BookDetailsDto> response = bookController.getBookById(bookId,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/books/1"), servletResponse));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Effective Java", response.getBody().getTitle());
         assertEquals(2, response.getBody().getCopies().size());
+        assertEquals("W/\"1-3-json\"", servletResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWithoutLoadingBook() {
+        Long bookId = 1L;
+
+        when(bookService.getBookVersion(bookId)).thenReturn(3L);
+
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/books/1");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-3-json\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<BookDetailsDto> response = bookController.getBookById(bookId,
+                new ServletWebRequest(servletRequest, servletResponse));
+
+        assertNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        verify(bookService, never()).getBookById(any());
+    }
+
+    @Test
+    void shouldTagEachWireFormatSeparately() {
+        Long bookId = 1L;
+
+        when(bookService.getBookVersion(bookId)).thenReturn(3L);
+        when(bookService.getBookById(bookId)).thenReturn(BookDetailsDto.builder().id(bookId).version(3L).build());
+
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/books/1");
+        servletRequest.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE);
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-3-json\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<BookDetailsDto> response = bookController.getBookById(bookId,
+                new ServletWebRequest(servletRequest, servletResponse));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("W/\"1-3-cbor\"", servletResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldReturnBookWhenETagIsStale() {
+        Long bookId = 1L;
+
+        when(bookService.getBookVersion(bookId)).thenReturn(4L);
+        when(bookService.getBookById(bookId))
+                .thenReturn(BookDetailsDto.builder().id(bookId).title("Effective Java").version(4L).build());
+
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/books/1");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-3-json\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<BookDetailsDto> response = bookController.getBookById(bookId,
+                new ServletWebRequest(servletRequest, servletResponse));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("W/\"1-4-json\"", servletResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldTagBodyWithItsOwnVersion() throws Exception {
+        // The book changed between the version check and the (cached) load
+        when(bookService.getBookVersion(1L)).thenReturn(5L);
+        when(bookService.getBookById(1L)).thenReturn(BookDetailsDto.builder().id(1L).version(4L).build());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(bookController).build();
+
+        List<String> eTags = mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeaders(HttpHeaders.ETAG);
+
+        assertEquals(List.of("W/\"1-4-json\""), eTags);
     }
 
     //updateBook test
+    @Test
+    void shouldAnswerConflictWhenUpdateRacesCopyChange() throws Exception {
+        when(bookService.updateBook(eq(1L), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Book.class, 1L));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(bookController)
+                .setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
+                .build();
+
+        mockMvc.perform(put("/api/books/1").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"New\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldAnswerConflictOnlyForUniqueKeyViolations() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(bookController)
+                .setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
+                .build();
+        SQLException sqlException = new SQLException("violation");
+        when(bookService.updateBook(eq(1L), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate", new ConstraintViolationException(
+                        "duplicate", sqlException, ConstraintViolationException.ConstraintKind.UNIQUE, "uk_books_isbn")))
+                .thenThrow(new DataIntegrityViolationException("not null", new ConstraintViolationException(
+                        "not null", sqlException, ConstraintViolationException.ConstraintKind.OTHER, null)))
+                .thenThrow(new DataIntegrityViolationException("unknown"));
+
+        mockMvc.perform(put("/api/books/1").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"New\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/books/1").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"New\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/books/1").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"New\"}"))
+                .andExpect(status().isInternalServerError());
+    }
+
     @Test
     void shouldUpdateBookById() {
         Long bookId = 1L;
@@ -175,23 +432,75 @@ public class BookControllerTest {
                 new BookCopyDto(2L, false)
         );
 
-        when(bookService.getCopiesByBookId(bookId)).thenReturn(copies);
+        when(bookService.getBookVersion(bookId)).thenReturn(0L);
+        when(bookService.getCopiesByBookId(bookId, null)).thenReturn(copies);
 
-        ResponseEntity<List<BookCopyDto>> response = bookController.getCopiesByBookId(bookId);
+        ResponseEntity<List<BookCopyDto>> response = bookController.getCopiesByBookId(bookId, null,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/books/1/copies"), new MockHttpServletResponse()));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(2, response.getBody().size());
         assertEquals(1L, response.getBody().get(0).getId());
     }
 
+    @Test
+    void shouldReturnNotModifiedForUnchangedCopies() {
+        Long bookId = 1L;
+
+        when(bookService.getBookVersion(bookId)).thenReturn(5L);
+
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/books/1/copies");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-5-json\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        assertNull(bookController.getCopiesByBookId(bookId, null, new ServletWebRequest(servletRequest, servletResponse)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        verify(bookService, never()).getCopiesByBookId(any(), any());
+    }
+
+    //getCopiesPage test
+    @Test
+    void shouldReturnPageOfAvailableCopies() {
+        Long bookId = 1L;
+        Page<BookCopyDto> page = new PageImpl<>(List.of(new BookCopyDto(3L, true)), PageRequest.of(1, 2), 3);
+
+        when(bookService.getBookVersion(bookId)).thenReturn(0L);
+        when(bookService.getCopiesByBookId(bookId, true, PageRequest.of(1, 2))).thenReturn(page);
+
+        ResponseEntity<Page<BookCopyDto>> response = bookController.getCopiesPage(bookId, true, 1, 2,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/books/1/copies"), new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().getTotalElements());
+        assertEquals(3L, response.getBody().getContent().get(0).getId());
+    }
+
+    //getCopiesAfter test
+    @Test
+    void shouldReturnKeysetPageOfCopies() {
+        Long bookId = 1L;
+        CursorPageDto<BookCopyDto> page = new CursorPageDto<>(List.of(new BookCopyDto(3L, false)), 1, "Mw");
+
+        when(bookService.getBookVersion(bookId)).thenReturn(0L);
+        when(bookService.getCopiesAfter(bookId, false, "Mg", 1)).thenReturn(page);
+
+        ResponseEntity<CursorPageDto<BookCopyDto>> response = bookController.getCopiesAfter(bookId, false, "Mg", 1,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/books/1/copies"), new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3L, response.getBody().getContent().get(0).getId());
+        assertEquals("Mw", response.getBody().getNextCursor());
+    }
+
     @Test
     void shouldThrowBookNotFoundExceptionWhenGettingCopiesForNonexistentBook() {
         Long bookId = 999L;
 
-        when(bookService.getCopiesByBookId(bookId))
+        when(bookService.getBookVersion(bookId))
                 .thenThrow(new BookNotFoundException(bookId));
 
-        assertThrows(BookNotFoundException.class, () -> bookController.getCopiesByBookId(bookId));
+        assertThrows(BookNotFoundException.class, () -> bookController.getCopiesByBookId(bookId, null,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/books/999/copies"))));
     }
 
     //addCopyToBook test
@@ -269,4 +578,121 @@ public class BookControllerTest {
         );
     }
 
+    //checkoutCopy test
+    @Test
+    void shouldCheckOutCopy() {
+        when(bookService.checkoutCopy(1L, 2L)).thenReturn(new BookCopyDto(2L, false));
+
+        ResponseEntity<BookCopyDto> response = bookController.checkoutCopy(1L, 2L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.getBody().getAvailable());
+    }
+
+    @Test
+    void shouldPropagateCheckoutConflict() {
+        when(bookService.checkoutCopy(1L, 2L)).thenThrow(new CopyStateConflictException(2L, false));
+
+        assertThrows(CopyStateConflictException.class, () -> bookController.checkoutCopy(1L, 2L));
+    }
+
+    //returnCopy test
+    @Test
+    void shouldReturnCopy() {
+        when(bookService.returnCopy(1L, 2L)).thenReturn(new BookCopyDto(2L, true));
+
+        ResponseEntity<BookCopyDto> response = bookController.returnCopy(1L, 2L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().getAvailable());
+    }
+
+    //lookupBooks test
+    @Test
+    void shouldReturnLookupResult() {
+        BookLookupDto dto = BookLookupDto.builder().ids(List.of(1L, 2L)).build();
+        BookLookupResultDto result = BookLookupResultDto.builder()
+                .books(List.of(BookDetailsDto.builder().id(1L).copies(List.of()).build()))
+                .missingIds(List.of(2L))
+                .missingIsbns(List.of())
+                .build();
+        when(bookService.lookupBooks(dto)).thenReturn(result);
+
+        ResponseEntity<BookLookupResultDto> response = bookController.lookupBooks(dto);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(2L), response.getBody().getMissingIds());
+    }
+
+    //updateCopiesAvailability test
+    @Test
+    void shouldReturnBatchAvailabilityResult() {
+        List<CopyAvailabilityUpdateDto> updates = List.of(new CopyAvailabilityUpdateDto(2L, true, null));
+        CopyAvailabilityResultDto result = CopyAvailabilityResultDto.builder()
+                .received(1)
+                .updated(1)
+                .rows(List.of(CopyAvailabilityRowDto.builder().row(1).copyId(2L).status(CopyAvailabilityStatus.UPDATED).build()))
+                .build();
+        when(bookService.updateCopiesAvailability(updates)).thenReturn(result);
+
+        ResponseEntity<CopyAvailabilityResultDto> response = bookController.updateCopiesAvailability(updates);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getUpdated());
+    }
+
+    @Test
+    void shouldRejectNullOrOversizedAvailabilityBatch() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(bookController)
+                .setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
+                .build();
+        String oversized = "[" + String.join(",", Collections.nCopies(5001, "{\"copyId\":1,\"available\":true}")) + "]";
+
+        mockMvc.perform(patch("/api/books/copies/availability").contentType(MediaType.APPLICATION_JSON).content("[null]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/books/copies/availability").contentType(MediaType.APPLICATION_JSON).content(oversized))
+                .andExpect(status().isBadRequest());
+        verify(bookService, never()).updateCopiesAvailability(any());
+    }
+
+    //importBooks test
+    @Test
+    void shouldReturnBulkImportSummary() {
+        InputStream body = new ByteArrayInputStream("[]".getBytes());
+        BulkImportResultDto summary = BulkImportResultDto.builder()
+                .received(2)
+                .created(1)
+                .rejected(1)
+                .rows(List.of(
+                        new BulkImportRowDto(1, "9780134685991", BulkImportStatus.CREATED, 1L, null),
+                        new BulkImportRowDto(2, "9780134685991", BulkImportStatus.DUPLICATE, null, "Duplicate")
+                ))
+                .build();
+
+        when(bookImportService.importBooks(body)).thenReturn(summary);
+
+        ResponseEntity<BulkImportResultDto> response = bookController.importBooks(body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getCreated());
+        assertEquals(BulkImportStatus.DUPLICATE, response.getBody().getRows().get(1).getStatus());
+    }
+
+    //exportBooks test
+    @Test
+    void shouldStreamExportInRequestedFormat() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+        AsyncWebRequest asyncRequest = mock(AsyncWebRequest.class);
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(asyncRequest);
+
+        ResponseEntity<StreamingResponseBody> response = bookController.exportBooks(ExportFormat.CSV, true, request);
+        response.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(asyncRequest).setTimeout(Duration.ofMinutes(30).toMillis());
+        assertEquals(MediaType.parseMediaType("text/csv"), response.getHeaders().getContentType());
+        verify(bookExportService, times(1)).exportBooks(ExportFormat.CSV, true, out);
+    }
+
 }
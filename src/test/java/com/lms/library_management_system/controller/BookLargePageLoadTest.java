@@ -0,0 +1,149 @@
+package com.lms.library_management_system.controller;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Has a few clients download large book pages back to back, once uncompressed and once with gzip. Reports
+ * time to first byte and to the last byte, bytes on the wire per page and peak heap. Whether the pages are
+ * streamed depends on {@code library.listing.stream-threshold}; raising it to the page size gives the
+ * buffered baseline. Runs only with {@code -Pload-test -Dload.test.class=BookLargePageLoadTest}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "library.reactive.port=0")
+@ActiveProfiles("seed")
+@EnabledIfSystemProperty(named = "load.test", matches = "true")
+class BookLargePageLoadTest {
+
+    private static final int READ_CHUNK = 8192;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${load.page-size:10000}")
+    private int pageSize;
+
+    @Value("${load.clients:8}")
+    private int clients;
+
+    @Value("${load.duration:PT60S}")
+    private Duration duration;
+
+    @Value("${load.warmup:PT20S}")
+    private Duration warmup;
+
+    @Value("${library.listing.stream-threshold}")
+    private int streamThreshold;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private long books;
+
+    @Test
+    void shouldDownloadLargePages() throws Exception {
+        books = jdbcTemplate.queryForObject("select count(*) from books", Long.class);
+        System.out.printf("Large pages: %d books, %d clients reading %d-book pages (%s) for %s%n",
+                books, clients, pageSize, pageSize > streamThreshold ? "streamed" : "buffered", duration);
+
+        long failures = run("identity") + run("gzip");
+        assertEquals(0, failures, "Failed downloads");
+    }
+
+    private long run(String encoding) throws Exception {
+        Histogram firstByte = new ConcurrentHistogram(3);
+        Histogram lastByte = new ConcurrentHistogram(3);
+        LongAdder failures = new LongAdder();
+        LongAdder bytes = new LongAdder();
+        AtomicLong peakHeap = new AtomicLong();
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            if (System.nanoTime() >= measureFrom) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            }
+        }, 0, 20, TimeUnit.MILLISECONDS);
+
+        ExecutorService readers = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            readers.submit(() -> {
+                byte[] chunk = new byte[READ_CHUNK];
+                while (System.nanoTime() < end) {
+                    long page = ThreadLocalRandom.current().nextLong(Math.max(books / pageSize, 1));
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                                    + "/api/books?page=" + page + "&size=" + pageSize))
+                            .header("Accept-Encoding", encoding)
+                            .timeout(Duration.ofSeconds(60))
+                            .build();
+
+                    long start = System.nanoTime();
+                    long first = 0;
+                    long read = 0;
+                    try {
+                        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                        try (InputStream in = response.body()) {
+                            for (int n = in.read(chunk); n >= 0; n = in.read(chunk)) {
+                                if (first == 0) {
+                                    first = System.nanoTime();
+                                }
+                                read += n;
+                            }
+                        }
+                        if (response.statusCode() != 200) {
+                            failures.increment();
+                            continue;
+                        }
+                    } catch (Exception ex) {
+                        failures.increment();
+                        continue;
+                    }
+
+                    if (start >= measureFrom) {
+                        firstByte.recordValue((first - start) / 1_000);
+                        lastByte.recordValue((System.nanoTime() - start) / 1_000);
+                        bytes.add(read);
+                    }
+                }
+                return null;
+            });
+        }
+        readers.shutdown();
+        readers.awaitTermination(duration.plus(warmup).toMinutes() + 2, TimeUnit.MINUTES);
+        sampler.shutdown();
+
+        long pages = Math.max(lastByte.getTotalCount(), 1);
+        System.out.printf("%-8s first byte p50 %8.2f ms  p99 %8.2f ms | last byte p50 %8.2f ms  p99 %8.2f ms | "
+                        + "pages %d  %d KB/page  failed %d | peak heap %d MB%n",
+                encoding, firstByte.getValueAtPercentile(50) / 1000.0, firstByte.getValueAtPercentile(99) / 1000.0,
+                lastByte.getValueAtPercentile(50) / 1000.0, lastByte.getValueAtPercentile(99) / 1000.0,
+                lastByte.getTotalCount(), bytes.sum() / pages >> 10, failures.sum(), peakHeap.get() >> 20);
+        return failures.sum();
+    }
+}
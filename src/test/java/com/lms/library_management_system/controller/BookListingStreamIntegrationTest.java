@@ -0,0 +1,101 @@
+package com.lms.library_management_system.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.library_management_system.dto.BookCreateDto;
+import com.lms.library_management_system.dto.BookDto;
+import com.lms.library_management_system.dto.BookFilterDto;
+import com.lms.library_management_system.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"library.reactive.port=0", "library.listing.stream-threshold=1", "library.listing.max-page-size=50"})
+class BookListingStreamIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    //streamed listing test
+    @Test
+    void shouldStreamSamePageAsBufferedListing() throws Exception {
+        // Enough books for the page to pass the compression threshold
+        for (int i = 0; i < 30; i++) {
+            bookService.createBook(new BookCreateDto("Streamed Title " + i, "Jane Doe", String.format("978%010d", i), 2024));
+        }
+        HttpResponse<InputStream> response = get("/api/books?size=20", "gzip");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            // Both sides parsed from text, so numbers get the same node types
+            String expected = objectMapper.writeValueAsString(bookService.getAllBooks(new BookFilterDto(), PageRequest.of(0, 20)));
+            assertEquals(objectMapper.readTree(expected), objectMapper.readTree(body));
+        }
+    }
+
+    //compression threshold test
+    @Test
+    void shouldSendSmallResponsesUncompressedWithLength() throws Exception {
+        HttpResponse<InputStream> response = get("/api/books/1", "gzip");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        long length = response.headers().firstValueAsLong("Content-Length").orElseThrow();
+        assertTrue(length < 2048);
+        assertEquals("Effective Java", objectMapper.readTree(response.body()).get("title").asText());
+    }
+
+    @Test
+    void shouldCompressLargeTaggedResponses() throws Exception {
+        BookDto book = bookService.createBook(new BookCreateDto("Many Copies", "Jane Doe", "9781234567897", 2024));
+        for (int i = 0; i < 150; i++) {
+            bookService.addCopyToBook(book.getId());
+        }
+
+        HttpResponse<InputStream> response = get("/api/books/" + book.getId() + "/copies", "gzip");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            assertEquals(150, objectMapper.readTree(body).size());
+        }
+    }
+
+    @Test
+    void shouldRejectPageSizeAboveMaximum() throws Exception {
+        HttpResponse<InputStream> response = get("/api/books?size=51", "identity");
+
+        assertEquals(400, response.statusCode());
+        assertEquals("Invalid page size: 51, must be between 1 and 50",
+                objectMapper.readTree(response.body()).get("message").asText());
+    }
+
+    private HttpResponse<InputStream> get(String path, String encoding) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", encoding)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+}
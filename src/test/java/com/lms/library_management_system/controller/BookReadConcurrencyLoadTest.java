@@ -0,0 +1,149 @@
+package com.lms.library_management_system.controller;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.lms.library_management_system.controller.LoadTestReport.skewed;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Closed-loop load on the read endpoints over a fixed number of open connections: each connection sends its
+ * next request as soon as the previous response arrives. Used to compare the default thread-per-request mode
+ * with the virtual-threads profile at the same connection count. Latency is measured per request, so unlike
+ * {@link BookControllerLoadTest} it does not include time a request would have waited to be sent.
+ * Runs only with {@code -Pload-test -Dload.test.class=BookReadConcurrencyLoadTest}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        // Both modes accept every connection, so the comparison is about how requests are executed
+        properties = {"server.tomcat.max-connections=20000", "server.tomcat.accept-count=1000"})
+@ActiveProfiles("seed")
+@EnabledIfSystemProperty(named = "load.test", matches = "true")
+class BookReadConcurrencyLoadTest {
+
+    private enum Operation {
+        GET_BOOKS, GET_BOOK, GET_COPIES
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${load.connections:10000}")
+    private int connections;
+
+    @Value("${load.duration:PT60S}")
+    private Duration duration;
+
+    @Value("${load.warmup:PT20S}")
+    private Duration warmup;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final ExecutorService callbacks = Executors.newFixedThreadPool(4);
+    // One connection per request in flight; HTTP/1.1 keeps them open between requests
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(callbacks)
+            .build();
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final LoadTestReport report = new LoadTestReport();
+    private final LongAdder completed = new LongAdder();
+
+    private long books;
+    private long measureFrom;
+    private long end;
+
+    @Test
+    void shouldServeReadsAtHighConcurrency() throws Exception {
+        books = jdbcTemplate.queryForObject("select count(*) from books", Long.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+        }
+
+        long start = System.nanoTime();
+        measureFrom = start + warmup.toNanos();
+        end = measureFrom + duration.toNanos();
+
+        // Connections open over the first half of the warmup, so the accept queue is never flooded
+        long rampUp = warmup.toNanos() / 2;
+        List<CompletableFuture<Void>> loops = new ArrayList<>(connections);
+        for (int c = 0; c < connections; c++) {
+            long delay = start + rampUp * c / connections - System.nanoTime();
+            if (delay > 0) {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+            loops.add(loop());
+        }
+        CompletableFuture.allOf(loops.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+        callbacks.shutdown();
+
+        report(System.nanoTime() - measureFrom);
+        assertEquals(0, report.serverErrors(), "Server errors or failed requests");
+    }
+
+    private CompletableFuture<Void> loop() {
+        long started = System.nanoTime();
+        if (started >= end) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Operation operation = Operation.values()[ThreadLocalRandom.current().nextInt(Operation.values().length)];
+        return client.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+                .handle((response, ex) -> {
+                    if (ex != null) {
+                        report.recordFailure(0);
+                    } else if (response.statusCode() >= 400) {
+                        report.recordFailure(response.statusCode());
+                    }
+                    if (started >= measureFrom) {
+                        histograms.get(operation).recordValue((System.nanoTime() - started) / 1_000);
+                        completed.increment();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop());
+    }
+
+    private HttpRequest request(Operation operation) {
+        String path = switch (operation) {
+            case GET_BOOKS -> "?page=" + skewed(books / 20) + "&size=20";
+            case GET_BOOK -> "/" + (1 + skewed(books));
+            case GET_COPIES -> "/" + (1 + skewed(books)) + "/copies";
+        };
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/books" + path))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private void report(long elapsedNanos) throws IOException {
+        String mode = virtualThreads ? "virtual" : "platform";
+        Histogram total = report.printLatencies(String.format("Read load: %d books, %d connections, %s threads, %s measured",
+                books, connections, mode, duration), histograms);
+        report.writeDistribution("reads-" + mode, total);
+
+        System.out.printf("Throughput: %.1f req/s%n", completed.sum() / (elapsedNanos / 1e9));
+        report.printFailures();
+    }
+}
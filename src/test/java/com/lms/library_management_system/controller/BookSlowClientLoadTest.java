@@ -0,0 +1,188 @@
+package com.lms.library_management_system.controller;
+
+import com.lms.library_management_system.config.ReactiveReadServer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the blocking and the reactive read API while many clients download large listings over slow
+ * connections. Each slow client reads its response in small pieces with pauses in between, so the server
+ * can only write as fast as the client drains its receive buffer. Meanwhile an open-loop probe requests
+ * single books on the same server, with latency measured from the scheduled start. Peak server threads and
+ * heap are sampled during each phase. Runs only with {@code -Pload-test -Dload.test.class=BookSlowClientLoadTest}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "library.reactive.port=0")
+@ActiveProfiles("seed")
+@EnabledIfSystemProperty(named = "load.test", matches = "true")
+class BookSlowClientLoadTest {
+
+    private static final int READ_CHUNK = 1024;
+    private static final int RECEIVE_BUFFER = 4096;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${load.slow-clients:500}")
+    private int slowClients;
+
+    @Value("${load.page-size:500}")
+    private int pageSize;
+
+    @Value("${load.read-pause:PT0.2S}")
+    private Duration readPause;
+
+    @Value("${load.rate:50}")
+    private int probeRate;
+
+    @Value("${load.duration:PT60S}")
+    private Duration duration;
+
+    @Value("${load.warmup:PT20S}")
+    private Duration warmup;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private long books;
+
+    @Test
+    void shouldKeepServingWhileClientsReadSlowly() throws Exception {
+        books = jdbcTemplate.queryForObject("select count(*) from books", Long.class);
+        System.out.printf("Slow clients: %d books, %d clients reading %d-book pages at %d bytes per %s, "
+                        + "probe at %d req/s for %s%n",
+                books, slowClients, pageSize, READ_CHUNK, readPause, probeRate, duration);
+
+        long failures = run("blocking", port, "http-nio")
+                + run("reactive", reactiveReadServer.getPort(), "reactor-http");
+        assertEquals(0, failures, "Failed probe requests");
+    }
+
+    private long run(String stack, int serverPort, String serverThreadPrefix) throws Exception {
+        Histogram probes = new ConcurrentHistogram(3);
+        LongAdder probeFailures = new LongAdder();
+        LongAdder downloads = new LongAdder();
+        AtomicLong peakThreads = new AtomicLong();
+        AtomicLong peakHeap = new AtomicLong();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        ExecutorService readers = Executors.newFixedThreadPool(slowClients);
+        for (int c = 0; c < slowClients; c++) {
+            readers.submit(() -> {
+                while (System.nanoTime() < end) {
+                    if (download(serverPort, end) && System.nanoTime() >= measureFrom) {
+                        downloads.increment();
+                    }
+                }
+                return null;
+            });
+        }
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            long threads = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().startsWith(serverThreadPrefix))
+                    .count();
+            peakThreads.accumulateAndGet(threads, Math::max);
+            peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+        }, 0, 100, TimeUnit.MILLISECONDS);
+
+        // Open loop: each probe starts at its scheduled time whether or not earlier ones have finished
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        long interval = TimeUnit.SECONDS.toNanos(1) / probeRate;
+        for (long scheduled = measureFrom; scheduled < end; scheduled += interval) {
+            LockSupport.parkNanos(scheduled - System.nanoTime());
+            long intended = scheduled;
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + serverPort
+                            + "/api/books/" + (1 + ThreadLocalRandom.current().nextLong(books))))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, ex) -> {
+                        if (ex != null || response.statusCode() != 200) {
+                            probeFailures.increment();
+                        }
+                        probes.recordValue((System.nanoTime() - intended) / 1_000);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+
+        readers.shutdown();
+        readers.awaitTermination(2, TimeUnit.MINUTES);
+        sampler.shutdown();
+
+        System.out.printf("%-9s probe p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  failed %d | downloads %d | "
+                        + "peak %s threads %d | peak heap %d MB%n",
+                stack, probes.getValueAtPercentile(50) / 1000.0, probes.getValueAtPercentile(99) / 1000.0,
+                probes.getMaxValue() / 1000.0, probeFailures.sum(), downloads.sum(), serverThreadPrefix,
+                peakThreads.get(), peakHeap.get() >> 20);
+        return probeFailures.sum();
+    }
+
+    // One listing over its own connection, read a chunk at a time; false if the server failed or it ran out of time
+    private boolean download(int serverPort, long end) {
+        long page = ThreadLocalRandom.current().nextLong(Math.max(books / pageSize, 1));
+        try (Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(RECEIVE_BUFFER);
+            socket.connect(new InetSocketAddress("localhost", serverPort));
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /api/books?page=" + page + "&size=" + pageSize + " HTTP/1.1\r\n"
+                    + "Host: localhost\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            InputStream in = socket.getInputStream();
+            byte[] chunk = new byte[READ_CHUNK];
+            int read = in.read(chunk);
+            boolean ok = read > 12 && new String(chunk, 9, 3, StandardCharsets.US_ASCII).equals("200");
+            while (read >= 0) {
+                if (System.nanoTime() >= end) {
+                    return false;
+                }
+                LockSupport.parkNanos(readPause.toNanos());
+                read = in.read(chunk);
+            }
+            return ok;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+}
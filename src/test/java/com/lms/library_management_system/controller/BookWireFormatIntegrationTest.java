@@ -0,0 +1,105 @@
+package com.lms.library_management_system.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookWireFormatIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    //content negotiation test
+    @Test
+    void shouldKeepJsonAsDefault() throws Exception {
+        mockMvc.perform(get("/api/books/1").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldEncodeSameTreeAsJsonInCborAndSmile() throws Exception {
+        JsonNode json = objectMapper.readTree(body("/api/books?size=5", MediaType.APPLICATION_JSON));
+        byte[] cbor = body("/api/books?size=5", MediaType.APPLICATION_CBOR);
+        byte[] smile = body("/api/books?size=5", SMILE);
+
+        assertEquals(json, new CBORMapper().readTree(cbor));
+        assertEquals(json, new SmileMapper().readTree(smile));
+        assertTrue(cbor.length < objectMapper.writeValueAsBytes(json).length);
+    }
+
+    @Test
+    void shouldAnswerErrorsInNegotiatedFormat() throws Exception {
+        byte[] error = mockMvc.perform(get("/api/books/999999").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("Book with ID 999999 not found", new CBORMapper().readTree(error).get("message").asText());
+    }
+
+    @Test
+    void shouldNotMatchTagOfAnotherFormat() throws Exception {
+        String jsonTag = mockMvc.perform(get("/api/books/1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/books/1").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, jsonTag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, not(jsonTag)));
+        mockMvc.perform(get("/api/books/1").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, jsonTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void shouldReadCborRequestBody() throws Exception {
+        byte[] book = new CBORMapper().writeValueAsBytes(objectMapper.createObjectNode()
+                .put("title", "Wire Formats")
+                .put("author", "Jane Doe")
+                .put("isbn", "9781234567897")
+                .put("publishedYear", 2024));
+
+        mockMvc.perform(post("/api/books").contentType(MediaType.APPLICATION_CBOR).content(book)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+    }
+
+    private byte[] body(String uri, MediaType mediaType) throws Exception {
+        return mockMvc.perform(get(uri).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,72 @@
+package com.lms.library_management_system.controller;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request mix and reporting shared by the load drivers. Latencies are recorded in microseconds and reported in
+ * milliseconds; percentile distributions are written to {@code target/load-test}.
+ */
+class LoadTestReport {
+
+    private static final Path DIRECTORY = Path.of("target", "load-test");
+
+    // Keyed by HTTP status, 0 for requests that failed without a response
+    private final ConcurrentMap<Integer, LongAdder> failures = new ConcurrentSkipListMap<>();
+
+    // Low ids are requested far more often than high ones, like a catalogue with a popular head
+    static long skewed(long bound) {
+        double u = ThreadLocalRandom.current().nextDouble();
+        return Math.min(Math.max(bound, 1) - 1, (long) (bound * u * u * u));
+    }
+
+    void recordFailure(int status) {
+        failures.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    long serverErrors() {
+        return failures.entrySet().stream()
+                .filter(entry -> entry.getKey() == 0 || entry.getKey() >= 500)
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    // Prints one row per operation and returns their combined histogram, which closes the table
+    Histogram printLatencies(String title, Map<? extends Enum<?>, Histogram> histograms) {
+        Histogram total = new Histogram(3);
+        System.out.println(title);
+        System.out.printf("%-12s %9s %10s %10s %10s %10s%n", "operation", "count", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        histograms.forEach((operation, histogram) -> {
+            total.add(histogram);
+            printSummary(operation.name(), histogram);
+        });
+        printSummary("TOTAL", total);
+        return total;
+    }
+
+    void printFailures() {
+        failures.forEach((status, count) -> System.out.printf("Failures with status %d: %d%n", status, count.sum()));
+    }
+
+    void writeDistribution(String name, Histogram histogram) throws IOException {
+        Files.createDirectories(DIRECTORY);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(DIRECTORY.resolve(name + ".hgrm")))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private void printSummary(String name, Histogram histogram) {
+        System.out.printf("%-12s %9d %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+    }
+}
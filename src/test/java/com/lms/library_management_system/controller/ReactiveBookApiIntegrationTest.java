@@ -0,0 +1,40 @@
+package com.lms.library_management_system.controller;
+
+import com.lms.library_management_system.config.ReactiveReadServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "library.reactive.port=0")
+class ReactiveBookApiIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    //reactive and blocking read test
+    @Test
+    void shouldServeSameBookFromBothServers() {
+        WebTestClient reactive = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveReadServer.getPort()).build();
+        WebTestClient blocking = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+
+        byte[] expected = blocking.get().uri("/api/books/1").exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+        reactive.get().uri("/api/books/1").exchange()
+                .expectStatus().isOk()
+                .expectBody().json(new String(expected));
+
+        reactive.get().uri("/api/books?page=1&size=1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(2);
+        reactive.get().uri("/api/books/999999/copies").exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,28 @@
+package com.lms.library_management_system.controller;
+
+import com.lms.library_management_system.config.ReactiveReadServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "library.reactive.port=0",
+        "spring.datasource.url=jdbc:h2:mem:reactive-configured-url;DB_CLOSE_DELAY=-1"
+})
+class ReactiveBookDataSourceIntegrationTest {
+
+    @Autowired
+    private ReactiveReadServer reactiveReadServer;
+
+    //configured datasource URL test
+    @Test
+    void shouldReadDatabaseOfConfiguredUrl() {
+        WebTestClient reactive = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveReadServer.getPort()).build();
+
+        reactive.get().uri("/api/books/1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Effective Java");
+    }
+}
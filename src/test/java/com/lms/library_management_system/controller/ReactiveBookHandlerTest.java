@@ -0,0 +1,136 @@
+package com.lms.library_management_system.controller;
+
+import com.lms.library_management_system.dto.BookCopyDto;
+import com.lms.library_management_system.dto.BookDetailsDto;
+import com.lms.library_management_system.dto.BookDto;
+import com.lms.library_management_system.repository.ReactiveBookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class ReactiveBookHandlerTest {
+
+    private ReactiveBookRepository reactiveBookRepository;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        reactiveBookRepository = mock(ReactiveBookRepository.class);
+        client = WebTestClient.bindToRouterFunction(new ReactiveBookHandler(reactiveBookRepository, 100).routes()).build();
+    }
+
+    //getAllBooks test
+    @Test
+    void shouldStreamPageOfBooks() {
+        when(reactiveBookRepository.findBooks(40, 20)).thenReturn(Flux.just(
+                BookDto.builder().id(41L).title("Book One").build(),
+                BookDto.builder().id(42L).title("Book Two").build()));
+
+        client.get().uri("/api/books?page=2&size=20")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].title").isEqualTo("Book Two");
+    }
+
+    //getAllBooks test
+    @Test
+    void shouldStreamNdjsonWhenAccepted() {
+        when(reactiveBookRepository.findBooks(0, 10)).thenReturn(Flux.just(
+                BookDto.builder().id(1L).build(),
+                BookDto.builder().id(2L).build()));
+
+        String body = client.get().uri("/api/books")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(2, body.lines().count());
+    }
+
+    //getAllBooks test
+    @Test
+    void shouldRejectInvalidPaging() {
+        client.get().uri("/api/books?size=0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.path").isEqualTo("/api/books");
+        client.get().uri("/api/books?size=101")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid page size: 101, must be between 1 and 100");
+
+        verifyNoInteractions(reactiveBookRepository);
+    }
+
+    //getBookById test
+    @Test
+    void shouldReturnBookDetails() {
+        when(reactiveBookRepository.findBookDetails(1L)).thenReturn(Mono.just(BookDetailsDto.builder()
+                .id(1L)
+                .title("Clean Code")
+                .copies(List.of(new BookCopyDto(10L, true)))
+                .build()));
+
+        client.get().uri("/api/books/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Clean Code")
+                .jsonPath("$.copies[0].available").isEqualTo(true);
+    }
+
+    //getBookById test
+    @Test
+    void shouldReturnNotFoundBodyForMissingBook() {
+        when(reactiveBookRepository.findBookDetails(99L)).thenReturn(Mono.empty());
+
+        client.get().uri("/api/books/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Book with ID 99 not found")
+                .jsonPath("$.path").isEqualTo("/api/books/99");
+    }
+
+    //getCopiesByBookId test
+    @Test
+    void shouldReturnCopiesOnlyForExistingBook() {
+        when(reactiveBookRepository.existsById(1L)).thenReturn(Mono.just(true));
+        when(reactiveBookRepository.findCopies(1L)).thenReturn(Flux.just(new BookCopyDto(10L, false)));
+        when(reactiveBookRepository.existsById(2L)).thenReturn(Mono.just(false));
+
+        client.get().uri("/api/books/1/copies")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(10);
+        client.get().uri("/api/books/2/copies")
+                .exchange()
+                .expectStatus().isNotFound();
+        client.get().uri("/api/books/abc/copies")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(reactiveBookRepository, never()).findCopies(2L);
+    }
+}
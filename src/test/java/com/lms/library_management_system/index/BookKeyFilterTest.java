@@ -0,0 +1,61 @@
+package com.lms.library_management_system.index;
+
+import com.lms.library_management_system.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BookKeyFilterTest {
+
+    private BookRepository bookRepository;
+    private BookKeyFilter bookKeyFilter;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        bookKeyFilter = new BookKeyFilter(bookRepository, 10_000, 0.01);
+    }
+
+    @Test
+    void shouldProbeDatabaseUntilWarmLoadHasFinished() {
+        assertTrue(bookKeyFilter.isbnExists("9780134685991", isbn -> true));
+        assertFalse(bookKeyFilter.isReady());
+    }
+
+    @Test
+    void shouldNeverRuleOutLoadedKeys() {
+        when(bookRepository.streamAllIsbns()).thenReturn(IntStream.range(0, 10_000).mapToObj(i -> String.format("%013d", i)));
+        when(bookRepository.streamAllTitles()).thenReturn(Stream.of("Effective Java"));
+        bookKeyFilter.warmUp();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bookKeyFilter.isbnExists(String.format("%013d", i), isbn -> true));
+        }
+        assertTrue(bookKeyFilter.titleExists("  effective JAVA ", title -> true));
+    }
+
+    @Test
+    void shouldSkipMostProbesForAbsentKeysAndTrackFalsePositives() {
+        when(bookRepository.streamAllIsbns()).thenReturn(IntStream.range(0, 10_000).mapToObj(i -> String.format("%013d", i)));
+        when(bookRepository.streamAllTitles()).thenReturn(Stream.empty());
+        bookKeyFilter.warmUp();
+
+        AtomicInteger probes = new AtomicInteger();
+        for (int i = 10_000; i < 20_000; i++) {
+            assertFalse(bookKeyFilter.isbnExists(String.format("%013d", i), isbn -> {
+                probes.incrementAndGet();
+                return false;
+            }));
+        }
+
+        assertTrue(probes.get() < 200, "Too many false positives: " + probes.get());
+        assertEquals(probes.get() == 0 ? 0.0 : 1.0, bookKeyFilter.falsePositiveRate());
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.lms.library_management_system.index;
+
+import com.lms.library_management_system.exception.SearchIndexNotReadyException;
+import com.lms.library_management_system.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BookSearchIndexTest {
+
+    private BookRepository bookRepository;
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        bookSearchIndex = new BookSearchIndex(bookRepository, mock(PlatformTransactionManager.class), "");
+
+        when(bookRepository.streamIndexedBooks()).thenReturn(Stream.of(
+                new IndexedBook(1L, "Effective Java", "Joshua Bloch", 1),
+                new IndexedBook(2L, "Java Concurrency in Practice", "Brian Goetz", 1),
+                new IndexedBook(3L, "Clean Code", "Robert C. Martin", 1),
+                new IndexedBook(4L, "The Clean Coder", "Robert C. Martin", 1)));
+        bookSearchIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        bookSearchIndex.destroy();
+    }
+
+    @Test
+    void shouldRejectSearchesUntilRebuildHasFinished() throws Exception {
+        BookSearchIndex fresh = new BookSearchIndex(bookRepository, mock(PlatformTransactionManager.class), "");
+        try {
+            assertThrows(SearchIndexNotReadyException.class, () -> fresh.search("java", 0, 10));
+        } finally {
+            fresh.destroy();
+        }
+    }
+
+    @Test
+    void shouldMatchTitleAndAuthorTermsCaseInsensitively() {
+        assertEquals(List.of(1L, 2L), sorted(bookSearchIndex.search("JAVA", 0, 10).ids()));
+        assertEquals(List.of(3L, 4L), sorted(bookSearchIndex.search("martin", 0, 10).ids()));
+    }
+
+    @Test
+    void shouldRequireEveryTerm() {
+        assertEquals(List.of(3L), bookSearchIndex.search("clean code", 0, 10).ids());
+        assertTrue(bookSearchIndex.search("java martin", 0, 10).ids().isEmpty());
+    }
+
+    @Test
+    void shouldRankStrongerMatchesFirst() throws Exception {
+        bookSearchIndex.index(5L, "Java", "Java Champion");
+        bookSearchIndex.refresh();
+
+        assertEquals(5L, bookSearchIndex.search("java", 0, 10).ids().get(0));
+    }
+
+    @Test
+    void shouldApplyUpdatesAndDeletesIncrementally() throws Exception {
+        bookSearchIndex.index(1L, "Effective Kotlin", "Marcin Moskala");
+        bookSearchIndex.remove(2L);
+        bookSearchIndex.refresh();
+
+        assertTrue(bookSearchIndex.search("java", 0, 10).ids().isEmpty());
+        assertEquals(List.of(1L), bookSearchIndex.search("kotlin", 0, 10).ids());
+    }
+
+    @Test
+    void shouldPaginateRankedHits() throws Exception {
+        IntStream.range(100, 125).forEach(i -> bookSearchIndex.index((long) i, "Algorithms volume " + i, "Author"));
+        bookSearchIndex.refresh();
+
+        BookSearchIndex.SearchHits first = bookSearchIndex.search("algorithms", 0, 10);
+        BookSearchIndex.SearchHits last = bookSearchIndex.search("algorithms", 2, 10);
+
+        assertEquals(25, first.total());
+        assertEquals(10, first.ids().size());
+        assertEquals(5, last.ids().size());
+        assertTrue(bookSearchIndex.search("algorithms", 3, 10).ids().isEmpty());
+    }
+
+    @Test
+    void shouldReturnNothingBeyondMaxWindow() {
+        assertEquals(List.of(1L, 2L), sorted(bookSearchIndex.search("java", 0, BookSearchIndex.MAX_WINDOW).ids()));
+        assertTrue(bookSearchIndex.search("java", 1, BookSearchIndex.MAX_WINDOW).ids().isEmpty());
+        // The offset of this page does not fit in an int
+        assertTrue(bookSearchIndex.search("java", Integer.MAX_VALUE, 1_000).ids().isEmpty());
+    }
+
+    @Test
+    void shouldReturnNothingForBlankQueries() {
+        assertTrue(bookSearchIndex.search("   ", 0, 10).ids().isEmpty());
+        assertTrue(bookSearchIndex.search("!!!", 0, 10).ids().isEmpty());
+    }
+
+    private List<Long> sorted(List<Long> ids) {
+        return ids.stream().sorted().toList();
+    }
+}
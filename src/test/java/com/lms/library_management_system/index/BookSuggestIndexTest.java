@@ -0,0 +1,108 @@
+package com.lms.library_management_system.index;
+
+import com.lms.library_management_system.dto.SuggestionDto;
+import com.lms.library_management_system.dto.SuggestionType;
+import com.lms.library_management_system.exception.SearchIndexNotReadyException;
+import com.lms.library_management_system.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BookSuggestIndexTest {
+
+    private BookRepository bookRepository;
+    private BookSuggestIndex bookSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        bookSuggestIndex = new BookSuggestIndex(bookRepository, mock(PlatformTransactionManager.class));
+
+        when(bookRepository.streamIndexedBooks()).thenReturn(Stream.of(
+                new IndexedBook(1L, "Clean Code", "Robert C. Martin", 5),
+                new IndexedBook(2L, "The Clean Coder", "Robert C. Martin", 2),
+                new IndexedBook(3L, "Refactoring", "Martin Fowler", 4),
+                new IndexedBook(4L, "Code Complete", "Steve McConnell", 1)));
+        bookSuggestIndex.rebuild();
+    }
+
+    @Test
+    void shouldRejectSuggestionsUntilLoaded() {
+        BookSuggestIndex fresh = new BookSuggestIndex(bookRepository, mock(PlatformTransactionManager.class));
+
+        assertThrows(SearchIndexNotReadyException.class, () -> fresh.suggest("c", 10));
+    }
+
+    @Test
+    void shouldRankTitlesAndAuthorsByCopies() {
+        List<SuggestionDto> suggestions = bookSuggestIndex.suggest("C", 10);
+
+        assertEquals(List.of("Clean Code", "Code Complete"), texts(suggestions));
+        assertEquals(1L, suggestions.get(0).getBookId());
+
+        List<SuggestionDto> martin = bookSuggestIndex.suggest("m", 10);
+        assertEquals(SuggestionType.AUTHOR, martin.get(0).getType());
+        assertEquals("Martin Fowler", martin.get(0).getText());
+        assertEquals(4, martin.get(0).getCopies());
+    }
+
+    @Test
+    void shouldSumCopiesOverAuthorsBooks() {
+        List<SuggestionDto> suggestions = bookSuggestIndex.suggest("robert", 10);
+
+        assertEquals(1, suggestions.size());
+        assertEquals(7, suggestions.get(0).getCopies());
+        assertNull(suggestions.get(0).getBookId());
+    }
+
+    @Test
+    void shouldCapLimit() {
+        assertEquals(2, bookSuggestIndex.suggest("", 2).size());
+        assertTrue(bookSuggestIndex.suggest("", -1).isEmpty());
+    }
+
+    @Test
+    void shouldApplyChangesIncrementally() {
+        bookSuggestIndex.add(5L, "Clean Architecture", "Robert C. Martin", 0);
+        bookSuggestIndex.addCopies(5L, "Clean Architecture", "Robert C. Martin", 9);
+        bookSuggestIndex.update(4L, "Code Complete", "Steve McConnell", "Code Complete 2", "Steve McConnell", 1);
+        bookSuggestIndex.remove(2L, "The Clean Coder", "Robert C. Martin");
+
+        assertEquals(List.of("Clean Architecture", "Clean Code", "Code Complete 2"), texts(bookSuggestIndex.suggest("c", 10)));
+        assertTrue(bookSuggestIndex.suggest("the", 10).isEmpty());
+        assertEquals(14, bookSuggestIndex.suggest("robert", 10).get(0).getCopies());
+    }
+
+    @Test
+    void shouldKeepCopiesOfBookUpdatedBeforeLoadReachedIt() {
+        BookSuggestIndex loading = new BookSuggestIndex(bookRepository, mock(PlatformTransactionManager.class));
+        // The edit commits while the load runs but before it has read the book, so the load skips the book
+        when(bookRepository.streamIndexedBooks()).thenAnswer(invocation -> {
+            loading.update(3L, "Refactoring", "Martin Fowler", "Refactoring (2nd Edition)", "Martin Fowler", 4);
+            return Stream.of(new IndexedBook(3L, "Refactoring (2nd Edition)", "Martin Fowler", 4));
+        });
+        loading.rebuild();
+
+        List<SuggestionDto> suggestions = loading.suggest("refactoring", 10);
+        assertEquals(List.of("Refactoring (2nd Edition)"), texts(suggestions));
+        assertEquals(4, suggestions.get(0).getCopies());
+        assertEquals(4, loading.suggest("martin", 10).get(0).getCopies());
+    }
+
+    @Test
+    void shouldDropAuthorWithoutBooks() {
+        bookSuggestIndex.remove(3L, "Refactoring", "Martin Fowler");
+
+        assertTrue(bookSuggestIndex.suggest("martin", 10).isEmpty());
+    }
+
+    private static List<String> texts(List<SuggestionDto> suggestions) {
+        return suggestions.stream().map(SuggestionDto::getText).toList();
+    }
+}
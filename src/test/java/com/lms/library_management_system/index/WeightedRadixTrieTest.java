@@ -0,0 +1,78 @@
+package com.lms.library_management_system.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeightedRadixTrieTest {
+
+    @Test
+    void shouldFindKeysThatShareEdges() {
+        WeightedRadixTrie trie = new WeightedRadixTrie();
+        trie.put("clean code", "Clean Code", 1, 3);
+        trie.put("clean coder", "The Clean Coder", 2, 1);
+        trie.put("clean", "Clean", 3, 0);
+
+        assertEquals(3, trie.size());
+        assertEquals("Clean Code", trie.get("clean code").text());
+        assertEquals(2, trie.get("clean coder").value());
+        assertEquals(0, trie.get("clean").weight());
+        assertNull(trie.get("clean c"));
+        assertNull(trie.get("cleaner"));
+    }
+
+    @Test
+    void shouldReturnHeaviestMatchesForPrefix() {
+        WeightedRadixTrie trie = new WeightedRadixTrie();
+        trie.put("java", "Java", 1, 2);
+        trie.put("java concurrency", "Java Concurrency", 2, 9);
+        trie.put("javascript", "JavaScript", 3, 5);
+        trie.put("jade", "Jade", 4, 7);
+        trie.put("kotlin", "Kotlin", 5, 100);
+
+        assertEquals(List.of("Java Concurrency", "Jade", "JavaScript"), texts(trie.top("ja", 3)));
+        assertEquals(List.of("Java Concurrency", "JavaScript", "Java"), texts(trie.top("jav", 10)));
+        // A prefix that ends inside an edge still matches everything below it
+        assertEquals(List.of("JavaScript"), texts(trie.top("javas", 10)));
+        assertTrue(trie.top("jx", 10).isEmpty());
+        assertEquals("Kotlin", trie.top("", 1).get(0).text());
+    }
+
+    @Test
+    void shouldReplaceWeightOfExistingKey() {
+        WeightedRadixTrie trie = new WeightedRadixTrie();
+        trie.put("a", "A", 1, 1);
+        trie.put("ab", "AB", 2, 5);
+        trie.put("ab", "AB", 2, 0);
+
+        assertEquals(2, trie.size());
+        assertEquals(List.of("A", "AB"), texts(trie.top("a", 10)));
+    }
+
+    @Test
+    void shouldPruneRemovedKeys() {
+        WeightedRadixTrie trie = new WeightedRadixTrie();
+        trie.put("team", "Team", 1, 1);
+        trie.put("tea", "Tea", 2, 8);
+        trie.put("ten", "Ten", 3, 4);
+
+        assertEquals(8, trie.remove("tea").weight());
+        assertNull(trie.remove("tea"));
+        assertNull(trie.remove("te"));
+
+        assertEquals(2, trie.size());
+        assertEquals("Team", trie.get("team").text());
+        assertEquals(List.of("Ten", "Team"), texts(trie.top("te", 10)));
+
+        trie.remove("team");
+        trie.remove("ten");
+        assertEquals(0, trie.size());
+        assertTrue(trie.top("", 10).isEmpty());
+    }
+
+    private static List<String> texts(List<WeightedRadixTrie.Match> matches) {
+        return matches.stream().map(WeightedRadixTrie.Match::text).toList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.lms.library_management_system.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    //prometheus scrape test
+    @Test
+    void shouldExposeServiceRepositorySqlSerializationAndExceptionMetrics() throws Exception {
+        mockMvc.perform(get("/api/books/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/books/999999")).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("library_book_service_seconds_count{")))
+                .andExpect(content().string(containsString("method=\"getBookById\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count{")))
+                .andExpect(content().string(containsString("library_http_sql_statements_count{endpoint=\"GET /api/books/{id}\"")))
+                .andExpect(content().string(containsString("library_http_serialization_seconds_count{endpoint=\"GET /api/books/{id}\"")))
+                .andExpect(content().string(containsString("library_http_exceptions_total{endpoint=\"GET /api/books/{id}\","
+                        + "exception=\"BookNotFoundException\",outcome=\"CLIENT_ERROR\"")));
+    }
+}
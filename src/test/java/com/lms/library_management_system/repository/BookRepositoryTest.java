@@ -0,0 +1,298 @@
+package com.lms.library_management_system.repository;
+
+import com.lms.library_management_system.config.SecondLevelCacheConfig;
+import com.lms.library_management_system.dto.BookCopyDto;
+import com.lms.library_management_system.dto.BookDto;
+import com.lms.library_management_system.dto.BookFilterDto;
+import com.lms.library_management_system.entity.Book;
+import com.lms.library_management_system.entity.BookCopy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(SecondLevelCacheConfig.class)
+public class BookRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookCopyRepository bookCopyRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    //findWithCopiesById test
+    @Test
+    void shouldLoadBookWithCopiesInSingleStatement() {
+        Book book = entityManager.persist(Book.builder()
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .isbn("9780134685991")
+                .publishedYear(2018)
+                .build());
+        entityManager.persist(BookCopy.builder().book(book).available(true).build());
+        entityManager.persist(BookCopy.builder().book(book).available(false).build());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Optional<Book> result = bookRepository.findWithCopiesById(book.getId());
+
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().getCopies().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenBookWithCopiesDoesNotExist() {
+        statistics.clear();
+
+        assertTrue(bookRepository.findWithCopiesById(999L).isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    //findBookDtosAfter test
+    @Test
+    void shouldSeekPastGivenIdWithoutCountQuery() {
+        Book first = entityManager.persist(Book.builder()
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .isbn("9780134685991")
+                .publishedYear(2018)
+                .build());
+        Book second = entityManager.persist(Book.builder()
+                .title("Clean Code")
+                .author("Robert C. Martin")
+                .isbn("9780132350884")
+                .publishedYear(2008)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<BookDto> result = bookRepository.findBookDtosAfter(first.getId(), Limit.of(10));
+
+        assertEquals(1, result.size());
+        assertEquals(second.getId(), result.get(0).getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    //findBookDtos test
+    @Test
+    void shouldFilterByAuthorAndYearRangeInOneProjectionQuery() {
+        entityManager.persist(book("Effective Java", "Joshua Bloch", "9780134685991", 2018));
+        entityManager.persist(book("Java Puzzlers", "Joshua Bloch", "9780321336781", 2005));
+        entityManager.persist(book("Effective Java 2nd", "Joshua Bloch", "9780321356680", 2008));
+        entityManager.persist(book("Clean Code", "Robert C. Martin", "9780132350884", 2008));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Page<BookDto> result = bookRepository.findBookDtos(
+                BookSpecifications.matching(BookFilterDto.builder().author("Joshua Bloch").yearFrom(2006).build()),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "publishedYear")));
+
+        assertEquals(List.of("Effective Java", "Effective Java 2nd"),
+                result.getContent().stream().map(BookDto::getTitle).toList());
+        assertEquals(2, result.getTotalElements());
+        // A short first page already tells the total, so no count query runs
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldCountWhenPageIsFull() {
+        entityManager.persist(book("Java Puzzlers", "Joshua Bloch", "9780321336781", 2005));
+        entityManager.persist(book("Effective Java", "Joshua Bloch", "9780134685991", 2018));
+        entityManager.persist(book("Clean Code", "Robert C. Martin", "9780132350884", 2008));
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<BookDto> result = bookRepository.findBookDtos(
+                BookSpecifications.matching(BookFilterDto.builder().yearTo(2010).build()),
+                PageRequest.of(0, 1, Sort.by("publishedYear")));
+
+        assertEquals("Java Puzzlers", result.getContent().get(0).getTitle());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    //incrementCopyCounters / adjustAvailableCopies test
+    @Test
+    void shouldUpdateCopyCountersAtomically() {
+        Book book = entityManager.persist(Book.builder()
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .isbn("9780134685991")
+                .publishedYear(2018)
+                .build());
+        entityManager.flush();
+
+        bookRepository.incrementCopyCounters(book.getId());
+        bookRepository.incrementCopyCounters(book.getId());
+        bookRepository.adjustAvailableCopies(book.getId(), -1);
+        entityManager.clear();
+
+        Book reloaded = entityManager.find(Book.class, book.getId());
+        assertEquals(2, reloaded.getTotalCopies());
+        assertEquals(1, reloaded.getAvailableCopies());
+        assertEquals(3L, reloaded.getVersion());
+        assertEquals(3L, bookRepository.findVersionById(book.getId()).orElseThrow());
+    }
+
+    //BookCopyRepository.updateAvailability test
+    @Test
+    void shouldUpdateCopyOnlyInExpectedStateAndBook() {
+        Book book = entityManager.persist(book("Effective Java", "Joshua Bloch", "9780134685991", 2018));
+        Book other = entityManager.persist(book("Clean Code", "Robert C. Martin", "9780132350884", 2008));
+        BookCopy copy = entityManager.persist(BookCopy.builder().book(book).available(true).build());
+        entityManager.flush();
+
+        assertEquals(0, bookCopyRepository.updateAvailability(other.getId(), copy.getId(), true, false));
+        assertEquals(1, bookCopyRepository.updateAvailability(book.getId(), copy.getId(), true, false));
+        assertEquals(0, bookCopyRepository.updateAvailability(book.getId(), copy.getId(), true, false));
+        entityManager.clear();
+
+        BookCopy reloaded = entityManager.find(BookCopy.class, copy.getId());
+        assertFalse(reloaded.getAvailable());
+        assertEquals(1L, reloaded.getVersion());
+        assertEquals(book.getId(), bookCopyRepository.findBookIdById(copy.getId()).orElseThrow());
+    }
+
+    //BookCopyRepository.lockStates / updateAvailability(batch) / recountAvailableCopies test
+    @Test
+    void shouldApplyBatchAvailabilityAndRecountCounters() {
+        Book book = entityManager.persist(book("Effective Java", "Joshua Bloch", "9780134685991", 2018));
+        BookCopy first = entityManager.persist(BookCopy.builder().book(book).available(true).build());
+        BookCopy second = entityManager.persist(BookCopy.builder().book(book).available(true).build());
+        BookCopy third = entityManager.persist(BookCopy.builder().book(book).available(false).build());
+        entityManager.flush();
+
+        List<BookCopyRepository.CopyState> states = bookCopyRepository.lockStates(List.of(first.getId(), third.getId(), 999_999L));
+        assertEquals(2, states.size());
+        assertTrue(states.contains(new BookCopyRepository.CopyState(third.getId(), book.getId(), false)));
+
+        assertEquals(1, bookCopyRepository.updateAvailability(List.of(first.getId(), third.getId()), false));
+        assertEquals(1, bookRepository.recountAvailableCopies(List.of(book.getId())));
+        entityManager.clear();
+
+        assertFalse(entityManager.find(BookCopy.class, first.getId()).getAvailable());
+        assertTrue(entityManager.find(BookCopy.class, second.getId()).getAvailable());
+        assertEquals(1, entityManager.find(Book.class, book.getId()).getAvailableCopies());
+    }
+
+    //findBookDtosByIsbnIn / BookCopyRepository.findStatesByBookIdIn test
+    @Test
+    void shouldResolveIsbnsAndTheirCopiesInTwoStatements() {
+        Book first = entityManager.persist(book("Effective Java", "Joshua Bloch", "9780134685991", 2018));
+        Book second = entityManager.persist(book("Clean Code", "Robert C. Martin", "9780132350884", 2008));
+        entityManager.persist(BookCopy.builder().book(first).available(true).build());
+        entityManager.persist(BookCopy.builder().book(first).available(false).build());
+        entityManager.persist(BookCopy.builder().book(second).available(true).build());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<BookDto> books = bookRepository.findBookDtosByIsbnIn(List.of("9780134685991", "9780132350884", "0000000000000"));
+        List<BookCopyRepository.CopyState> copies = bookCopyRepository.findStatesByBookIdIn(
+                books.stream().map(BookDto::getId).toList());
+
+        assertEquals(2, books.size());
+        assertEquals(3, copies.size());
+        assertEquals(2, copies.stream().filter(copy -> copy.bookId().equals(first.getId())).count());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    //BookCopyRepository.findCopyDtosByBookIdAndAvailableAfter / findCopyDtosByBookIdAndAvailable test
+    @Test
+    void shouldPageCopiesOfOneBookByAvailability() {
+        Book book = entityManager.persist(book("Effective Java", "Joshua Bloch", "9780134685991", 2018));
+        Book other = entityManager.persist(book("Clean Code", "Robert C. Martin", "9780132350884", 2008));
+        List<BookCopy> copies = List.of(
+                entityManager.persist(BookCopy.builder().book(book).available(true).build()),
+                entityManager.persist(BookCopy.builder().book(book).available(false).build()),
+                entityManager.persist(BookCopy.builder().book(book).available(true).build()),
+                entityManager.persist(BookCopy.builder().book(book).available(true).build()));
+        entityManager.persist(BookCopy.builder().book(other).available(true).build());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<BookCopyDto> after = bookCopyRepository.findCopyDtosByBookIdAndAvailableAfter(
+                book.getId(), true, copies.get(0).getId(), Limit.of(10));
+
+        assertEquals(List.of(copies.get(2).getId(), copies.get(3).getId()), after.stream().map(BookCopyDto::getId).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        Page<BookCopyDto> page = bookCopyRepository.findCopyDtosByBookIdAndAvailable(book.getId(), true, PageRequest.of(1, 2));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(copies.get(3).getId(), page.getContent().get(0).getId());
+        assertEquals(4, bookCopyRepository.findCopyDtosByBookId(book.getId(), PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    //markDeleted / findDeletedIds / deleteCopiesOfBooks / deleteTombstones test
+    @Test
+    void shouldHideTombstonedBookUntilPurged() {
+        Book deleted = entityManager.persist(book("Effective Java", "Joshua Bloch", "9780134685991", 2018));
+        Book kept = entityManager.persist(book("Clean Code", "Robert C. Martin", "9780132350884", 2008));
+        BookCopy copy = entityManager.persist(BookCopy.builder().book(deleted).available(true).build());
+        entityManager.persist(BookCopy.builder().book(deleted).available(false).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, bookRepository.markDeleted(deleted.getId(), LocalDateTime.now()));
+        assertEquals(0, bookRepository.markDeleted(deleted.getId(), LocalDateTime.now()));
+        entityManager.clear();
+
+        assertTrue(bookRepository.findById(deleted.getId()).isEmpty());
+        assertTrue(bookRepository.findWithCopiesById(deleted.getId()).isEmpty());
+        assertFalse(bookRepository.existsById(deleted.getId()));
+        assertEquals(List.of(kept.getId()), bookRepository.findBookDtosByIdIn(List.of(deleted.getId(), kept.getId()))
+                .stream().map(BookDto::getId).toList());
+        assertTrue(bookCopyRepository.findBookIdById(copy.getId()).isEmpty());
+        assertEquals(0, bookCopyRepository.updateAvailability(deleted.getId(), copy.getId(), true, false));
+        // Its keys stay taken until the row is gone
+        assertTrue(bookRepository.existsByIsbn("9780134685991"));
+
+        assertEquals(List.of(deleted.getId()), bookRepository.findDeletedIds(10));
+        assertEquals(2, bookRepository.deleteCopiesOfBooks(List.of(deleted.getId())));
+        assertEquals(1, bookRepository.deleteTombstones(List.of(deleted.getId(), kept.getId())));
+        assertFalse(bookRepository.existsByIsbn("9780134685991"));
+        assertTrue(bookRepository.existsById(kept.getId()));
+    }
+
+    private static Book book(String title, String author, String isbn, int publishedYear) {
+        return Book.builder().title(title).author(author).isbn(isbn).publishedYear(publishedYear).build();
+    }
+
+}
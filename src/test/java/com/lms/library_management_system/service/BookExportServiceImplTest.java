@@ -0,0 +1,74 @@
+package com.lms.library_management_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.library_management_system.dto.ExportFormat;
+import com.lms.library_management_system.entity.Book;
+import com.lms.library_management_system.repository.BookRepository;
+import com.lms.library_management_system.service.impl.BookExportServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BookExportServiceImplTest {
+
+    private BookRepository bookRepository;
+    private BookExportService bookExportService;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        bookExportService = new BookExportServiceImpl(bookRepository, mock(EntityManager.class), new ObjectMapper());
+
+        Book book1 = Book.builder()
+                .id(1L)
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .isbn("9780134685991")
+                .publishedYear(2018)
+                .availableCopies(1)
+                .totalCopies(2)
+                .build();
+
+        Book book2 = Book.builder()
+                .id(2L)
+                .title("Refactoring, 2nd \"Edition\"")
+                .author("Martin Fowler")
+                .isbn("9780134757599")
+                .publishedYear(2018)
+                .build();
+
+        when(bookRepository.streamAllOrderedById()).thenReturn(Stream.of(book1, book2));
+    }
+
+    @Test
+    void shouldExportOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookExportService.exportBooks(ExportFormat.NDJSON, true, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"title\":\"Effective Java\",\"author\":\"Joshua Bloch\",\"isbn\":\"9780134685991\","
+                + "\"publishedYear\":2018,\"availableCopies\":1,\"totalCopies\":2}", lines[0]);
+    }
+
+    @Test
+    void shouldExportCsvWithQuotedValues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookExportService.exportBooks(ExportFormat.CSV, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,title,author,isbn,publishedYear", lines[0]);
+        assertEquals("2,\"Refactoring, 2nd \"\"Edition\"\"\",Martin Fowler,9780134757599,2018", lines[2]);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.lms.library_management_system.service;
+
+import com.lms.library_management_system.dto.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports a million-row catalogue; run with {@code mvn test -Pexport-soak}, which caps the heap.
+ * The database lives in a file so that only the export itself competes for heap.
+ */
+@EnabledIfSystemProperty(named = "export.soak", matches = "true")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/export-soak;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+public class BookExportSoakTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH = 10_000;
+    private static final long ID_OFFSET = 10_000_000L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookExportService bookExportService;
+
+    @Test
+    void shouldExportMillionRowsWithFlatHeap() throws Exception {
+        for (int start = 0; start < ROWS; start += BATCH) {
+            List<Object[]> batch = new ArrayList<>(BATCH);
+            for (int i = start; i < start + BATCH; i++) {
+                batch.add(new Object[]{ID_OFFSET + i, "Title " + i, "Author " + (i % 5_000), String.format("%013d", i), 1950 + i % 70, 1, 1});
+            }
+            jdbcTemplate.batchUpdate("insert into books (id, title, author, isbn, published_year, available_copies, total_copies, version) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, 0)", batch);
+        }
+
+        LineCountingOutputStream out = new LineCountingOutputStream();
+        bookExportService.exportBooks(ExportFormat.NDJSON, true, out);
+
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("Exported %d lines (%d bytes), max heap %d MB, used heap %d MB%n",
+                out.lines, out.bytes, runtime.maxMemory() >> 20, (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        assertTrue(out.lines >= ROWS);
+    }
+
+    private static class LineCountingOutputStream extends OutputStream {
+        private long lines;
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.lms.library_management_system.service;
+
+import com.lms.library_management_system.dto.BookCreateDto;
+import com.lms.library_management_system.dto.BulkImportResultDto;
+import com.lms.library_management_system.dto.BulkImportStatus;
+import com.lms.library_management_system.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+@SpringBootTest
+@DirtiesContext
+class BookImportIntegrationTest {
+
+    @MockitoSpyBean
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookService bookService;
+
+    //concurrent duplicate test
+    @Test
+    void shouldRejectRowWhoseKeyIsTakenAfterTheDuplicateCheck() {
+        // The spy of a repository proxy delegates to it by default, there is no real method to call
+        Answer<?> real = mockingDetails(bookRepository).getMockCreationSettings().getDefaultAnswer();
+
+        // Another writer commits the same ISBN right after the chunk has been checked against the table
+        doAnswer(invocation -> {
+            Object titles = real.answer(invocation);
+            bookService.createBook(new BookCreateDto("Concurrent Import", "Jane Doe", "9781234567897", 2024));
+            return titles;
+        }).doAnswer(real).when(bookRepository).findExistingTitles(anyCollection());
+
+        String body = """
+                {"title": "Imported First", "author": "Jane Doe", "isbn": "9780306406157", "publishedYear": 2020}
+                {"title": "Imported Second", "author": "Jane Doe", "isbn": "9781234567897", "publishedYear": 2021}
+                """;
+
+        BulkImportResultDto result = bookImportService.importBooks(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(List.of(BulkImportStatus.CREATED, BulkImportStatus.DUPLICATE),
+                result.getRows().stream().map(row -> row.getStatus()).toList());
+    }
+}
@@ -0,0 +1,111 @@
+package com.lms.library_management_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.library_management_system.dto.BulkImportResultDto;
+import com.lms.library_management_system.dto.BulkImportStatus;
+import com.lms.library_management_system.entity.Book;
+import com.lms.library_management_system.index.BookKeyFilter;
+import com.lms.library_management_system.index.BookSearchIndex;
+import com.lms.library_management_system.index.BookSuggestIndex;
+import com.lms.library_management_system.repository.BookRepository;
+import com.lms.library_management_system.service.impl.BookImportServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BookImportServiceImplTest {
+
+    private BookRepository bookRepository;
+    private BookImportService bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        bookImportService = new BookImportServiceImpl(
+                bookRepository,
+                new BookKeyFilter(bookRepository, 1000, 0.01),
+                mock(BookSearchIndex.class),
+                mock(BookSuggestIndex.class),
+                mock(EntityManager.class),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                mock(PlatformTransactionManager.class),
+                2
+        );
+
+        when(bookRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            long id = 1;
+            for (Book book : books) {
+                book.setId(id++);
+            }
+            return books;
+        });
+    }
+
+    @Test
+    void shouldImportJsonArrayAndReportEachRow() {
+        String body = """
+                [
+                  {"title": "Effective Java", "author": "Joshua Bloch", "isbn": "9780134685991", "publishedYear": 2018},
+                  {"title": "Clean Code", "author": "Robert C. Martin", "isbn": "not-an-isbn", "publishedYear": 2008},
+                  {"title": "Refactoring", "author": "Martin Fowler", "isbn": "9780134757599", "publishedYear": 2018}
+                ]
+                """;
+
+        when(bookRepository.findExistingIsbns(anyCollection())).thenReturn(List.of("9780134757599"));
+
+        BulkImportResultDto result = bookImportService.importBooks(stream(body));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getRejected());
+        assertEquals(BulkImportStatus.CREATED, result.getRows().get(0).getStatus());
+        assertEquals(BulkImportStatus.INVALID, result.getRows().get(1).getStatus());
+        assertEquals(BulkImportStatus.DUPLICATE, result.getRows().get(2).getStatus());
+    }
+
+    @Test
+    void shouldRejectDuplicatesWithinNdjsonChunk() {
+        String body = """
+                {"title": "Effective Java", "author": "Joshua Bloch", "isbn": "9780134685991", "publishedYear": 2018}
+                {"title": "Effective Java", "author": "Joshua Bloch", "isbn": "9780134685992", "publishedYear": 2018}
+                """;
+
+        BulkImportResultDto result = bookImportService.importBooks(stream(body));
+
+        assertEquals(2, result.getReceived());
+        assertEquals(1, result.getCreated());
+        assertEquals(BulkImportStatus.DUPLICATE, result.getRows().get(1).getStatus());
+        verify(bookRepository, times(1)).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void shouldStopAtMalformedInputAndKeepEarlierRows() {
+        String body = """
+                {"title": "Effective Java", "author": "Joshua Bloch", "isbn": "9780134685991", "publishedYear": 2018}
+                {"title": "Clean Code",
+                """;
+
+        BulkImportResultDto result = bookImportService.importBooks(stream(body));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(BulkImportStatus.INVALID, result.getRows().get(1).getStatus());
+        assertEquals(2, result.getRows().get(1).getRow());
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.lms.library_management_system.service;
+
+import com.lms.library_management_system.repository.BookRepository;
+import com.lms.library_management_system.service.impl.BookPurger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class BookPurgerTest {
+
+    private BookRepository bookRepository;
+    private BookPurger bookPurger;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        bookPurger = new BookPurger(bookRepository, mock(PlatformTransactionManager.class), 2);
+    }
+
+    //purge test
+    @Test
+    void shouldDeleteCopiesBeforeBooksOfOneBatch() {
+        when(bookRepository.findDeletedIds(2)).thenReturn(List.of(5L, 7L));
+        when(bookRepository.deleteCopiesOfBooks(List.of(5L, 7L))).thenReturn(300);
+        when(bookRepository.deleteTombstones(List.of(5L, 7L))).thenReturn(2);
+
+        assertEquals(2, bookPurger.purge());
+
+        var order = inOrder(bookRepository);
+        order.verify(bookRepository).deleteCopiesOfBooks(List.of(5L, 7L));
+        order.verify(bookRepository).deleteTombstones(List.of(5L, 7L));
+    }
+
+    @Test
+    void shouldDoNothingWithoutTombstones() {
+        when(bookRepository.findDeletedIds(2)).thenReturn(List.of());
+
+        assertEquals(0, bookPurger.purge());
+
+        verify(bookRepository, never()).deleteCopiesOfBooks(anyCollection());
+    }
+}
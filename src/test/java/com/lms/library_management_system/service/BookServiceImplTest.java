@@ -1,24 +1,40 @@
 package com.lms.library_management_system.service;
 
+import com.lms.library_management_system.cache.BookDetailsCache;
 import com.lms.library_management_system.dto.*;
 import com.lms.library_management_system.entity.Book;
 import com.lms.library_management_system.entity.BookCopy;
 import com.lms.library_management_system.exception.BookCopyMismatchException;
 import com.lms.library_management_system.exception.BookNotFoundException;
 import com.lms.library_management_system.exception.CopyNotFoundException;
+import com.lms.library_management_system.exception.CopyStateConflictException;
 import com.lms.library_management_system.exception.DuplicateBookException;
+import com.lms.library_management_system.index.BookKeyFilter;
+import com.lms.library_management_system.index.BookSearchIndex;
+import com.lms.library_management_system.index.BookSuggestIndex;
 import com.lms.library_management_system.repository.BookCopyRepository;
 import com.lms.library_management_system.repository.BookRepository;
 import com.lms.library_management_system.service.impl.BookServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import com.lms.library_management_system.exception.InvalidCursorException;
+import com.lms.library_management_system.exception.InvalidPageSizeException;
+import com.lms.library_management_system.util.CursorCodec;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,19 +43,26 @@ public class BookServiceImplTest {
 
     private BookRepository bookRepository;
     private BookCopyRepository bookCopyRepository;
+    private BookKeyFilter bookKeyFilter;
+    private BookSearchIndex bookSearchIndex;
+    private BookSuggestIndex bookSuggestIndex;
     private BookService bookService;
 
     @BeforeEach
     void setUp() {
         bookRepository = mock(BookRepository.class);
         bookCopyRepository = mock(BookCopyRepository.class);
-        bookService = new BookServiceImpl(bookRepository, bookCopyRepository);
+        bookKeyFilter = new BookKeyFilter(bookRepository, 1000, 0.01);
+        bookSearchIndex = mock(BookSearchIndex.class);
+        bookSuggestIndex = mock(BookSuggestIndex.class);
+        bookService = new BookServiceImpl(bookRepository, bookCopyRepository, bookKeyFilter,
+                new BookDetailsCache(1_000_000, Duration.ofMinutes(5)), bookSearchIndex, bookSuggestIndex);
     }
 
     //getAllBooks test
     @Test
     void shouldReturnListOfBookDtos() {
-        Book book1 = Book.builder()
+        BookDto book1 = BookDto.builder()
                 .id(1L)
                 .title("Effective Java")
                 .author("Joshua Bloch")
@@ -47,7 +70,7 @@ public class BookServiceImplTest {
                 .publishedYear(2018)
                 .build();
 
-        Book book2 = Book.builder()
+        BookDto book2 = BookDto.builder()
                 .id(2L)
                 .title("Clean Code")
                 .author("Robert C. Martin")
@@ -56,17 +79,151 @@ public class BookServiceImplTest {
                 .build();
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Book> page = new PageImpl<>(List.of(book1, book2), pageable, 2);
+        Page<BookDto> page = new PageImpl<>(List.of(book1, book2), pageable, 2);
 
-        when(bookRepository.findAll(pageable)).thenReturn(page);
+        when(bookRepository.findAllBookDtos(pageable)).thenReturn(page);
 
-        Page<BookDto> result = bookService.getAllBooks(pageable);
+        Page<BookDto> result = bookService.getAllBooks(new BookFilterDto(), pageable);
 
         assertEquals(2, result.getTotalElements());
         assertEquals("Effective Java", result.getContent().get(0).getTitle());
         assertEquals("Clean Code", result.getContent().get(1).getTitle());
     }
 
+    @Test
+    void shouldQueryWithSpecificationAndIdTieBreakWhenFiltered() {
+        BookFilterDto filter = BookFilterDto.builder().author("Joshua Bloch").build();
+        Pageable expected = PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "publishedYear", "id"));
+        when(bookRepository.findBookDtos(any(), eq(expected))).thenReturn(Page.empty(expected));
+
+        bookService.getAllBooks(filter, PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "publishedYear")));
+
+        verify(bookRepository).findBookDtos(any(), eq(expected));
+        verify(bookRepository, never()).findAllBookDtos(any());
+    }
+
+    //writeAllBooks test
+    @Test
+    void shouldWriteStreamedPageWithoutCountWhenPageIsPartial() throws Exception {
+        BookDto book1 = BookDto.builder().id(11L).title("Effective Java").build();
+        BookDto book2 = BookDto.builder().id(12L).title("Clean Code").build();
+        Pageable expected = PageRequest.of(1, 10, Sort.by(Sort.Direction.ASC, "id"));
+        when(bookRepository.streamBookDtos(any(), eq(expected))).thenReturn(Stream.of(book1, book2));
+
+        List<BookDto> written = new ArrayList<>();
+        long total = bookService.writeAllBooks(new BookFilterDto(), PageRequest.of(1, 10), written::add);
+
+        assertEquals(List.of(book1, book2), written);
+        assertEquals(12, total);
+        verify(bookRepository, never()).countBookDtos(any());
+    }
+
+    @Test
+    void shouldCountWhenStreamedPageIsFull() throws Exception {
+        BookFilterDto filter = BookFilterDto.builder().author("Joshua Bloch").build();
+        Pageable expected = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "publishedYear", "id"));
+        when(bookRepository.streamBookDtos(any(), eq(expected)))
+                .thenReturn(Stream.of(BookDto.builder().id(1L).build()));
+        when(bookRepository.countBookDtos(any())).thenReturn(3L);
+
+        long total = bookService.writeAllBooks(filter,
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "publishedYear")), book -> { });
+
+        assertEquals(3, total);
+    }
+
+    //getBooksAfter test
+    @Test
+    void shouldReturnKeysetPageWithNextCursor() {
+        BookDto book1 = BookDto.builder().id(1L).title("Effective Java").build();
+        BookDto book2 = BookDto.builder().id(2L).title("Clean Code").build();
+        BookDto book3 = BookDto.builder().id(3L).title("Refactoring").build();
+
+        when(bookRepository.findBookDtosAfter(0L, Limit.of(3)))
+                .thenReturn(List.of(book1, book2, book3));
+
+        CursorPageDto<BookDto> result = bookService.getBooksAfter("", 2);
+
+        assertEquals(2, result.getSize());
+        assertEquals("Clean Code", result.getContent().get(1).getTitle());
+        assertEquals(2L, CursorCodec.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void shouldRejectNonPositiveKeysetSize() {
+        assertThrows(InvalidPageSizeException.class, () -> bookService.getBooksAfter("", 0));
+        assertThrows(InvalidPageSizeException.class, () -> bookService.getCopiesAfter(1L, null, "", -1));
+
+        verifyNoInteractions(bookRepository, bookCopyRepository);
+    }
+
+    @Test
+    void shouldReturnLastKeysetPageWithoutNextCursor() {
+        BookDto book = BookDto.builder().id(3L).title("Refactoring").build();
+
+        when(bookRepository.findBookDtosAfter(2L, Limit.of(3)))
+                .thenReturn(List.of(book));
+
+        CursorPageDto<BookDto> result = bookService.getBooksAfter(CursorCodec.encode(2L), 2);
+
+        assertEquals(1, result.getSize());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void shouldThrowExceptionForMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> bookService.getBooksAfter("not-a-cursor!", 10));
+    }
+
+    //searchBooks test
+    @Test
+    void shouldReturnSearchHitsInRankOrder() {
+        BookDto book1 = BookDto.builder().id(1L).title("Effective Java").build();
+        BookDto book2 = BookDto.builder().id(2L).title("Java Concurrency in Practice").build();
+
+        when(bookSearchIndex.search("java", 0, 10)).thenReturn(new BookSearchIndex.SearchHits(List.of(2L, 1L), 2));
+        when(bookRepository.findBookDtosByIdIn(List.of(2L, 1L))).thenReturn(List.of(book1, book2));
+
+        Page<BookDto> result = bookService.searchBooks("java", PageRequest.of(0, 10));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(2L, result.getContent().get(0).getId());
+        assertEquals(1L, result.getContent().get(1).getId());
+    }
+
+    @Test
+    void shouldSkipSearchHitsDeletedSinceIndexing() {
+        when(bookSearchIndex.search("java", 0, 10)).thenReturn(new BookSearchIndex.SearchHits(List.of(5L, 1L), 2));
+        when(bookRepository.findBookDtosByIdIn(List.of(5L, 1L)))
+                .thenReturn(List.of(BookDto.builder().id(1L).title("Effective Java").build()));
+
+        Page<BookDto> result = bookService.searchBooks("java", PageRequest.of(0, 10));
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(1L, result.getContent().get(0).getId());
+    }
+
+    @Test
+    void shouldNotQueryDatabaseWhenSearchFindsNothing() {
+        when(bookSearchIndex.search("nothing", 0, 10)).thenReturn(new BookSearchIndex.SearchHits(List.of(), 0));
+
+        Page<BookDto> result = bookService.searchBooks("nothing", PageRequest.of(0, 10));
+
+        assertTrue(result.isEmpty());
+        verify(bookRepository, never()).findBookDtosByIdIn(any());
+    }
+
+    //suggestBooks test
+    @Test
+    void shouldReturnSuggestionsFromIndex() {
+        List<SuggestionDto> suggestions = List.of(
+                new SuggestionDto("Tolkien", SuggestionType.AUTHOR, null, 12),
+                new SuggestionDto("The Hobbit", SuggestionType.TITLE, 3L, 5));
+        when(bookSuggestIndex.suggest("t", 5)).thenReturn(suggestions);
+
+        assertEquals(suggestions, bookService.suggestBooks("t", 5));
+    }
+
     //createBook test
     @Test
     void shouldCreateBookSuccessfully() {
@@ -113,6 +270,42 @@ public class BookServiceImplTest {
         assertThrows(DuplicateBookException.class, () -> bookService.createBook(dto));
     }
 
+    @Test
+    void shouldSkipDuplicateProbesWhenKeyFilterRulesBookOut() {
+        when(bookRepository.streamAllIsbns()).thenReturn(Stream.of("9780134685991"));
+        when(bookRepository.streamAllTitles()).thenReturn(Stream.of("Effective Java"));
+        bookKeyFilter.warmUp();
+
+        BookCreateDto dto = BookCreateDto.builder()
+                .title("The Silmarillion")
+                .author("J. R. R. Tolkien")
+                .isbn("9780048231390")
+                .publishedYear(1977)
+                .build();
+
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        bookService.createBook(dto);
+
+        verify(bookRepository, never()).existsByIsbn(anyString());
+        verify(bookRepository, never()).existsByTitle(anyString());
+    }
+
+    //getBookVersion test
+    @Test
+    void shouldReturnBookVersion() {
+        when(bookRepository.findVersionById(1L)).thenReturn(Optional.of(7L));
+
+        assertEquals(7L, bookService.getBookVersion(1L));
+    }
+
+    @Test
+    void shouldThrowWhenVersionOfNonexistentBookRequested() {
+        when(bookRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(BookNotFoundException.class, () -> bookService.getBookVersion(999L));
+    }
+
     //getBookById test
     @Test
     void shouldReturnBookDtoWhenBookExists() {
@@ -122,9 +315,10 @@ public class BookServiceImplTest {
                 .author("Robert C. Martin")
                 .isbn("9780132350884")
                 .publishedYear(2008)
+                .version(7L)
                 .build();
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.findWithCopiesById(1L)).thenReturn(Optional.of(book));
 
         BookDetailsDto result = bookService.getBookById(1L);
 
@@ -132,11 +326,37 @@ public class BookServiceImplTest {
         assertEquals("Robert C. Martin", result.getAuthor());
         assertEquals("9780132350884", result.getIsbn());
         assertEquals(2008, result.getPublishedYear());
+        assertEquals(7L, result.getVersion());
+    }
+
+    @Test
+    void shouldServeRepeatedBookDetailsFromCacheUntilBookChanges() {
+        Book book = Book.builder()
+                .id(1L)
+                .title("Clean Code")
+                .author("Robert C. Martin")
+                .isbn("9780132350884")
+                .publishedYear(2008)
+                .build();
+
+        when(bookRepository.findWithCopiesById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        bookService.getBookById(1L);
+        bookService.getBookById(1L);
+        verify(bookRepository, times(1)).findWithCopiesById(1L);
+
+        bookService.updateBook(1L, BookUpdateDto.builder().title("Clean Code 2").build());
+        BookDetailsDto result = bookService.getBookById(1L);
+
+        assertEquals("Clean Code 2", result.getTitle());
+        verify(bookRepository, times(2)).findWithCopiesById(1L);
     }
 
     @Test
     void shouldThrowBookNotFoundExceptionWhenBookDoesNotExist() {
-        when(bookRepository.findById(999L)).thenReturn(Optional.empty());
+        when(bookRepository.findWithCopiesById(999L)).thenReturn(Optional.empty());
 
         assertThrows(BookNotFoundException.class, () -> bookService.getBookById(999L));
     }
@@ -157,6 +377,7 @@ public class BookServiceImplTest {
                 .author("Author")
                 .isbn("1234567654321")
                 .publishedYear(2025)
+                .totalCopies(3)
                 .build();
 
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(existingBook));
@@ -166,6 +387,7 @@ public class BookServiceImplTest {
 
         assertEquals("Updated Title", result.getTitle());
         assertEquals(2024, result.getPublishedYear());
+        verify(bookSuggestIndex).update(bookId, "Original Title", "Author", "Updated Title", "Author", 3);
     }
 
     @Test
@@ -196,10 +418,14 @@ public class BookServiceImplTest {
                 .build();
 
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        when(bookRepository.markDeleted(eq(bookId), any())).thenReturn(1);
 
         bookService.deleteBook(bookId);
 
-        verify(bookRepository, times(1)).delete(book);
+        verify(bookRepository, times(1)).markDeleted(eq(bookId), any());
+        verify(bookRepository, never()).delete(any(Book.class));
+        verify(bookSearchIndex).remove(bookId);
+        verify(bookSuggestIndex).remove(bookId, "Book to Delete", "Author");
     }
 
     @Test
@@ -216,18 +442,13 @@ public class BookServiceImplTest {
     void shouldReturnCopiesOfExistingBook() {
         Long bookId = 1L;
 
-        BookCopy copy1 = new BookCopy();
-        copy1.setId(101L);
-        copy1.setAvailable(true);
-
-        BookCopy copy2 = new BookCopy();
-        copy2.setId(102L);
-        copy2.setAvailable(false);
+        BookCopyDto copy1 = new BookCopyDto(101L, true);
+        BookCopyDto copy2 = new BookCopyDto(102L, false);
 
         when(bookRepository.existsById(bookId)).thenReturn(true);
-        when(bookCopyRepository.findByBookId(bookId)).thenReturn(List.of(copy1, copy2));
+        when(bookCopyRepository.findCopyDtosByBookId(bookId)).thenReturn(List.of(copy1, copy2));
 
-        List<BookCopyDto> result = bookService.getCopiesByBookId(bookId);
+        List<BookCopyDto> result = bookService.getCopiesByBookId(bookId, null);
 
         assertEquals(2, result.size());
         assertEquals(101L, result.get(0).getId());
@@ -241,7 +462,72 @@ public class BookServiceImplTest {
         Long nonExistentBookId = 999L;
         when(bookRepository.existsById(nonExistentBookId)).thenReturn(false);
 
-        assertThrows(BookNotFoundException.class, () -> bookService.getCopiesByBookId(nonExistentBookId));
+        assertThrows(BookNotFoundException.class, () -> bookService.getCopiesByBookId(nonExistentBookId, null));
+    }
+
+    @Test
+    void shouldFilterCopiesByAvailability() {
+        Long bookId = 1L;
+
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+        when(bookCopyRepository.findCopyDtosByBookIdAndAvailable(bookId, true))
+                .thenReturn(List.of(new BookCopyDto(101L, true)));
+
+        List<BookCopyDto> result = bookService.getCopiesByBookId(bookId, true);
+
+        assertEquals(1, result.size());
+        verify(bookCopyRepository, never()).findCopyDtosByBookId(bookId);
+    }
+
+    @Test
+    void shouldReturnPageOfCopiesInIdOrder() {
+        Long bookId = 1L;
+        PageRequest pageable = PageRequest.of(1, 2);
+
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+        when(bookCopyRepository.findCopyDtosByBookIdAndAvailable(bookId, false, pageable))
+                .thenReturn(new PageImpl<>(List.of(new BookCopyDto(104L, false)), pageable, 3));
+
+        Page<BookCopyDto> result = bookService.getCopiesByBookId(bookId, false, pageable);
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(104L, result.getContent().get(0).getId());
+    }
+
+    //getCopiesAfter test
+    @Test
+    void shouldReturnKeysetPageOfCopiesWithNextCursor() {
+        Long bookId = 1L;
+
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+        when(bookCopyRepository.findCopyDtosByBookIdAfter(bookId, 101L, Limit.of(3)))
+                .thenReturn(List.of(new BookCopyDto(102L, true), new BookCopyDto(103L, false), new BookCopyDto(104L, true)));
+
+        CursorPageDto<BookCopyDto> result = bookService.getCopiesAfter(bookId, null, CursorCodec.encode(101L), 2);
+
+        assertEquals(2, result.getSize());
+        assertEquals(103L, CursorCodec.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void shouldReturnLastKeysetPageOfAvailableCopies() {
+        Long bookId = 1L;
+
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+        when(bookCopyRepository.findCopyDtosByBookIdAndAvailableAfter(bookId, true, 0L, Limit.of(3)))
+                .thenReturn(List.of(new BookCopyDto(102L, true)));
+
+        CursorPageDto<BookCopyDto> result = bookService.getCopiesAfter(bookId, true, "", 2);
+
+        assertEquals(1, result.getSize());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenBookDoesNotExistWhileGettingCopiesAfterCursor() {
+        when(bookRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(BookNotFoundException.class, () -> bookService.getCopiesAfter(999L, null, "", 20));
     }
 
     //addCopyToBook test
@@ -269,6 +555,8 @@ public class BookServiceImplTest {
 
         assertEquals(100L, result.getId());
         assertTrue(result.getAvailable());
+        verify(bookRepository, times(1)).incrementCopyCounters(bookId);
+        verify(bookSuggestIndex).addCopies(bookId, "Test Book", "Author", 1);
     }
 
     @Test
@@ -285,34 +573,31 @@ public class BookServiceImplTest {
         Long bookId = 1L;
         Long copyId = 10L;
 
-        Book book = Book.builder()
-                .id(bookId)
-                .title("Test Book")
-                .author("Author")
-                .isbn("1234567654321")
-                .publishedYear(2025)
-                .build();
-
-        BookCopy copy = new BookCopy();
-        copy.setId(copyId);
-        copy.setBook(book);
-        copy.setAvailable(true);
-
-        BookCopy updated = new BookCopy();
-        updated.setId(copyId);
-        updated.setBook(book);
-        updated.setAvailable(false);
-
         BookCopyUpdateDto dto = new BookCopyUpdateDto();
         dto.setAvailable(false);
 
-        when(bookCopyRepository.findById(copyId)).thenReturn(Optional.of(copy));
-        when(bookCopyRepository.save(any(BookCopy.class))).thenReturn(updated);
+        when(bookCopyRepository.updateAvailability(bookId, copyId, true, false)).thenReturn(1);
 
         BookCopyDto result = bookService.updateCopyAvailability(bookId, copyId, dto);
 
         assertEquals(copyId, result.getId());
         assertFalse(result.getAvailable());
+        verify(bookRepository, times(1)).adjustAvailableCopies(bookId, -1);
+        verify(bookCopyRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldLeaveCopyAlreadyInRequestedState() {
+        BookCopyUpdateDto dto = new BookCopyUpdateDto();
+        dto.setAvailable(true);
+
+        when(bookCopyRepository.updateAvailability(1L, 10L, false, true)).thenReturn(0);
+        when(bookCopyRepository.findBookIdById(10L)).thenReturn(Optional.of(1L));
+
+        BookCopyDto result = bookService.updateCopyAvailability(1L, 10L, dto);
+
+        assertTrue(result.getAvailable());
+        verify(bookRepository, never()).adjustAvailableCopies(anyLong(), anyInt());
     }
 
     @Test
@@ -320,7 +605,7 @@ public class BookServiceImplTest {
         Long bookId = 1L;
         Long copyId = 999L;
 
-        when(bookCopyRepository.findById(copyId)).thenReturn(Optional.empty());
+        when(bookCopyRepository.findBookIdById(copyId)).thenReturn(Optional.empty());
 
         BookCopyUpdateDto dto = new BookCopyUpdateDto();
         dto.setAvailable(false);
@@ -333,25 +618,148 @@ public class BookServiceImplTest {
         Long requestedBookId = 1L;
         Long copyId = 10L;
 
-        Book differentBook = Book.builder()
-                .id(2L)
-                .title("Other Book")
-                .author("Different Author")
-                .isbn("9999999999999")
-                .publishedYear(2019)
-                .build();
-
-        BookCopy copy = new BookCopy();
-        copy.setId(copyId);
-        copy.setBook(differentBook);
-        copy.setAvailable(true);
-
         BookCopyUpdateDto dto = new BookCopyUpdateDto();
         dto.setAvailable(false);
 
-        when(bookCopyRepository.findById(copyId)).thenReturn(Optional.of(copy));
+        when(bookCopyRepository.findBookIdById(copyId)).thenReturn(Optional.of(2L));
 
         assertThrows(BookCopyMismatchException.class, () -> bookService.updateCopyAvailability(requestedBookId, copyId, dto));
+        verify(bookRepository, never()).adjustAvailableCopies(anyLong(), anyInt());
+    }
+
+    //checkoutCopy test
+    @Test
+    void shouldCheckOutAvailableCopy() {
+        when(bookCopyRepository.updateAvailability(1L, 10L, true, false)).thenReturn(1);
+
+        BookCopyDto result = bookService.checkoutCopy(1L, 10L);
+
+        assertFalse(result.getAvailable());
+        verify(bookRepository).adjustAvailableCopies(1L, -1);
+    }
+
+    @Test
+    void shouldRejectCheckoutOfCheckedOutCopy() {
+        when(bookCopyRepository.updateAvailability(1L, 10L, true, false)).thenReturn(0);
+        when(bookCopyRepository.findBookIdById(10L)).thenReturn(Optional.of(1L));
+
+        CopyStateConflictException ex = assertThrows(CopyStateConflictException.class, () -> bookService.checkoutCopy(1L, 10L));
+        assertEquals("Book copy with ID 10 is already checked out", ex.getMessage());
+        verify(bookRepository, never()).adjustAvailableCopies(anyLong(), anyInt());
+    }
+
+    //returnCopy test
+    @Test
+    void shouldReturnCheckedOutCopy() {
+        when(bookCopyRepository.updateAvailability(1L, 10L, false, true)).thenReturn(1);
+
+        BookCopyDto result = bookService.returnCopy(1L, 10L);
+
+        assertTrue(result.getAvailable());
+        verify(bookRepository).adjustAvailableCopies(1L, 1);
+    }
+
+    @Test
+    void shouldRejectReturnOfCopyFromAnotherBook() {
+        when(bookCopyRepository.updateAvailability(1L, 10L, false, true)).thenReturn(0);
+        when(bookCopyRepository.findBookIdById(10L)).thenReturn(Optional.of(2L));
+
+        assertThrows(BookCopyMismatchException.class, () -> bookService.returnCopy(1L, 10L));
+    }
+
+    //updateCopiesAvailability test
+    @Test
+    void shouldApplyBatchAndReportEachItem() {
+        when(bookCopyRepository.lockStates(any())).thenReturn(List.of(
+                new BookCopyRepository.CopyState(10L, 1L, false),
+                new BookCopyRepository.CopyState(11L, 1L, true),
+                new BookCopyRepository.CopyState(12L, 2L, true),
+                new BookCopyRepository.CopyState(20L, 2L, true)));
+
+        CopyAvailabilityResultDto result = bookService.updateCopiesAvailability(List.of(
+                new CopyAvailabilityUpdateDto(10L, true, null),
+                new CopyAvailabilityUpdateDto(11L, true, 1L),
+                new CopyAvailabilityUpdateDto(12L, false, 1L),
+                new CopyAvailabilityUpdateDto(99L, true, null),
+                new CopyAvailabilityUpdateDto(null, true, null),
+                new CopyAvailabilityUpdateDto(20L, false, null)));
+
+        assertEquals(6, result.getReceived());
+        assertEquals(2, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(CopyAvailabilityStatus.UPDATED, CopyAvailabilityStatus.UNCHANGED, CopyAvailabilityStatus.MISMATCH,
+                        CopyAvailabilityStatus.NOT_FOUND, CopyAvailabilityStatus.INVALID, CopyAvailabilityStatus.UPDATED),
+                result.getRows().stream().map(CopyAvailabilityRowDto::getStatus).toList());
+        assertEquals("Book copy with ID 99 not found", result.getRows().get(3).getMessage());
+        assertEquals(2L, result.getRows().get(5).getBookId());
+
+        verify(bookCopyRepository).updateAvailability(List.of(10L), true);
+        verify(bookCopyRepository).updateAvailability(List.of(20L), false);
+        verify(bookRepository).recountAvailableCopies(Set.of(1L, 2L));
+        verify(bookCopyRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldSkipWritesWhenBatchChangesNothing() {
+        when(bookCopyRepository.lockStates(any())).thenReturn(List.of(new BookCopyRepository.CopyState(10L, 1L, true)));
+
+        CopyAvailabilityResultDto result = bookService.updateCopiesAvailability(List.of(
+                new CopyAvailabilityUpdateDto(10L, false, null),
+                new CopyAvailabilityUpdateDto(10L, true, null)));
+
+        assertEquals(0, result.getUpdated());
+        assertEquals(2, result.getUnchanged());
+        assertEquals(List.of(true, true), result.getRows().stream().map(CopyAvailabilityRowDto::getAvailable).toList());
+        verify(bookCopyRepository, never()).updateAvailability(anyCollection(), anyBoolean());
+        verify(bookRepository, never()).recountAvailableCopies(any());
+    }
+
+    @Test
+    void shouldReportNullItemsAsInvalid() {
+        CopyAvailabilityResultDto result = bookService.updateCopiesAvailability(Arrays.asList(
+                null, new CopyAvailabilityUpdateDto(10L, null, null)));
+
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(CopyAvailabilityStatus.INVALID, CopyAvailabilityStatus.INVALID),
+                result.getRows().stream().map(CopyAvailabilityRowDto::getStatus).toList());
+    }
+
+    //lookupBooks test
+    @Test
+    void shouldLookUpByIdsAndIsbnsWithOneCopiesQueryPerChunk() {
+        BookDto first = BookDto.builder().id(1L).title("Effective Java").isbn("9780134685991").build();
+        BookDto second = BookDto.builder().id(2L).title("Clean Code").isbn("9780132350884").build();
+        when(bookRepository.findBookDtosByIdIn(List.of(1L, 99L))).thenReturn(List.of(first));
+        when(bookRepository.findBookDtosByIsbnIn(List.of("9780132350884", "9780134685991", "0000000000000")))
+                .thenReturn(List.of(second, first));
+        when(bookCopyRepository.findStatesByBookIdIn(anyCollection())).thenReturn(List.of(
+                new BookCopyRepository.CopyState(10L, 1L, true),
+                new BookCopyRepository.CopyState(11L, 2L, false)));
+
+        BookLookupResultDto result = bookService.lookupBooks(BookLookupDto.builder()
+                .ids(Arrays.asList(1L, 99L, 1L, null))
+                .isbns(List.of("9780132350884", "9780134685991", "0000000000000"))
+                .build());
+
+        assertEquals(List.of(1L, 2L), result.getBooks().stream().map(BookDetailsDto::getId).toList());
+        assertEquals(10L, result.getBooks().get(0).getCopies().get(0).getId());
+        assertEquals(List.of(99L), result.getMissingIds());
+        assertEquals(List.of("0000000000000"), result.getMissingIsbns());
+        verify(bookCopyRepository, times(2)).findStatesByBookIdIn(anyCollection());
+        verify(bookRepository, never()).findWithCopiesById(anyLong());
+    }
+
+    @Test
+    void shouldSplitLookupIntoChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, 2_500).boxed().toList();
+        when(bookRepository.findBookDtosByIdIn(anyCollection())).thenReturn(List.of());
+
+        BookLookupResultDto result = bookService.lookupBooks(BookLookupDto.builder().ids(ids).build());
+
+        verify(bookRepository, times(3)).findBookDtosByIdIn(anyCollection());
+        verify(bookCopyRepository, never()).findStatesByBookIdIn(anyCollection());
+        assertEquals(2_500, result.getMissingIds().size());
     }
 
 }
@@ -0,0 +1,77 @@
+package com.lms.library_management_system.service;
+
+import com.lms.library_management_system.dto.BookCopyDto;
+import com.lms.library_management_system.dto.BookCopyUpdateDto;
+import com.lms.library_management_system.dto.BookCreateDto;
+import com.lms.library_management_system.dto.BookDto;
+import com.lms.library_management_system.dto.BookUpdateDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mixes book edits and copy flips over a small catalogue and checks that most entity reads are served by the
+ * second-level cache. Runs only with {@code -Pload-test -Dload.test.class=SecondLevelCacheLoadTest}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "load.test", matches = "true")
+public class SecondLevelCacheLoadTest {
+
+    private static final int BOOKS = 100;
+    private static final int OPERATIONS = 5_000;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldServeRepeatedLookupsFromSecondLevelCache() {
+        List<Long> bookIds = new ArrayList<>();
+        List<long[]> copies = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            BookDto book = bookService.createBook(BookCreateDto.builder()
+                    .title("Cached Title " + i)
+                    .author("Author " + i)
+                    .isbn(String.format("978%010d", i))
+                    .publishedYear(2000)
+                    .build());
+            bookIds.add(book.getId());
+            BookCopyDto copy = bookService.addCopyToBook(book.getId());
+            copies.add(new long[]{book.getId(), copy.getId()});
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Random random = new Random(42);
+        BookUpdateDto noChange = new BookUpdateDto();
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (random.nextInt(10) < 8) {
+                bookService.updateBook(bookIds.get(random.nextInt(BOOKS)), noChange);
+            } else {
+                long[] copy = copies.get(random.nextInt(BOOKS));
+                bookService.updateCopyAvailability(copy[0], copy[1], new BookCopyUpdateDto(random.nextBoolean()));
+            }
+        }
+
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long misses = statistics.getSecondLevelCacheMissCount();
+        double hitRatio = (double) hits / (hits + misses);
+        // Every flip that changes availability evicts its book through the counter update, so misses track those
+        assertTrue(hitRatio > 0.8, String.format("L2 hit ratio %.3f over %d operations (hits %d, misses %d)",
+                hitRatio, OPERATIONS, hits, misses));
+    }
+
+}